@@ -0,0 +1,93 @@
+package tictactoe;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Move generation of AIPlayerMinimax and its leaf evaluation, over the
+ * positions of the corpus.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class AIPlayerBenchmark {
+    /** Memory cap of the transposition table, cleared before every move */
+    private static final long TABLE_BYTES = 1L << 20;
+
+    @Param({"3x3/3", "9x9/5"})
+    public String rules;
+    @Param({"OPENING", "MIDGAME", "NEAR_TERMINAL"})
+    public BenchmarkPositions.Phase phase;
+
+    private BenchmarkPositions positions;
+    /** One searcher per position, for evaluate() */
+    private MinimaxSearch[] searchers;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        positions = new BenchmarkPositions(BenchmarkPositions.parseRules(rules), phase);
+        searchers = new MinimaxSearch[BenchmarkPositions.COUNT];
+        for (int i = 0; i < searchers.length; ++i) {
+            MinimaxSearch.Shared shared = new MinimaxSearch.Shared(positions.rules, new TranspositionTable(0));
+            shared.mySeed = positions.toMove[i];
+            searchers[i] = new MinimaxSearch(shared);
+            searchers[i].board.copyFrom(positions.boards[i]);
+        }
+    }
+
+    /** A minimax player that gets the next position before every move */
+    @State(Scope.Thread)
+    public static class Minimax {
+        @Param({"4"})
+        public int depth;
+
+        private Board board;
+        private AIPlayerMinimax player;
+
+        @Setup
+        public void setUp(AIPlayerBenchmark benchmark) {
+            board = new Board(benchmark.positions.rules);
+            player = new AIPlayerMinimax(board, TABLE_BYTES);
+            player.setSearchDepth(depth);
+            player.setSolvedCache(null);  // the runs repeat the positions, search them in full
+        }
+
+        /** Load the next position, with an empty table so that every move is searched in full.
+         A move takes microseconds to milliseconds, so the per-invocation setup adds little */
+        @Setup(Level.Invocation)
+        public void nextPosition(AIPlayerBenchmark benchmark) {
+            int i = benchmark.next++ & (BenchmarkPositions.COUNT - 1);
+            board.copyFrom(benchmark.positions.boards[i]);
+            player.setSeed(benchmark.positions.toMove[i]);
+            player.getTranspositionTable().clear();
+        }
+    }
+
+    @Benchmark
+    public int[] minimaxMove(Minimax minimax) {
+        return minimax.player.move();
+    }
+
+    /** The score of a leaf, from the side to move */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int evaluate() {
+        return searchers[next++ & (BenchmarkPositions.COUNT - 1)].evaluate();
+    }
+}
@@ -0,0 +1,125 @@
+package tictactoe;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+/**
+ * Corpus of positions for the benchmarks: COUNT positions of one game phase,
+ * made by seeded random play in which nobody has won yet, so every run and
+ * every commit measures the same positions.
+ * <p>
+ * The static helpers serve the plain main() benchmarks, which search a
+ * handful of random positions with differently configured players.
+ */
+public class BenchmarkPositions {
+    /** Number of positions, a power of 2 so that next() can wrap with a mask */
+    public static final int COUNT = 16;
+    private static final long SEED = 42;
+
+    /** How far the positions are into the game */
+    public enum Phase {
+        OPENING,       // 2 moves played
+        MIDGAME,       // 40% of the cells filled
+        NEAR_TERMINAL  // all but 20% of the cells (at least 2) filled
+    }
+
+    public final Rules rules;
+    public final Board[] boards = new Board[COUNT];
+    /** The cell of the last move of each position and the seed that played it */
+    public final int[] lastMoves = new int[COUNT];
+    public final Seed[] lastSeeds = new Seed[COUNT];
+    /** The seed to play next in each position */
+    public final Seed[] toMove = new Seed[COUNT];
+
+    /** Constructor of the positions of the given phase under the given rules */
+    public BenchmarkPositions(Rules rules, Phase phase) {
+        this.rules = rules;
+        int moves;
+        switch (phase) {
+            case OPENING: moves = 2; break;
+            case MIDGAME: moves = rules.cellCount * 2 / 5; break;
+            default: moves = rules.cellCount - Math.max(2, rules.cellCount / 5); break;
+        }
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int i = 0; i < COUNT; ++i) {
+            boards[i] = new Board(rules);
+            while (!play(boards[i], i, moves, random)) {
+                boards[i].init();  // someone was bound to win, start over
+            }
+        }
+    }
+
+    /** Return the rules written as "rows x cols / winLength", e.g., "9x9/5" */
+    public static Rules parseRules(String spec) {
+        String[] parts = spec.split("[x/]");
+        return new Rules(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), Integer.parseInt(parts[2]));
+    }
+
+    /** Return boards with the given number of random moves played, CROSS to move */
+    public static Board[] randomPositions(Rules rules, int count, int moves) {
+        Random random = new Random(SEED);
+        Board[] boards = new Board[count];
+        for (int i = 0; i < count; ++i) {
+            Board board = new Board(rules);
+            for (int m = 0; m < moves; ++m) {
+                int cell;
+                do {
+                    cell = random.nextInt(rules.cellCount);
+                } while (board.cells[cell / rules.cols][cell % rules.cols].content != Seed.EMPTY);
+                board.setCell(cell, (m % 2 == 0) ? Seed.CROSS : Seed.NOUGHT);
+            }
+            boards[i] = board;
+        }
+        return boards;
+    }
+
+    /** Search every board once to the given depth with a fresh CROSS player,
+     configured further by setup. Return the totals {nodes, ns} */
+    public static long[] searchAll(Board[] boards, int depth, Consumer<AIPlayerMinimax> setup) {
+        long[] totals = new long[2];
+        for (Board board : boards) {
+            AIPlayerMinimax player = new AIPlayerMinimax(board);
+            player.setSeed(Seed.CROSS);
+            player.setSearchDepth(depth);
+            player.setSolvedCache(null);  // the runs repeat the positions, search them in full
+            setup.accept(player);
+            long start = System.nanoTime();
+            player.move();
+            totals[0] += player.getNodeCount();
+            totals[1] += System.nanoTime() - start;
+        }
+        return totals;
+    }
+
+    /** Play the given number of random moves that do not win on the board.
+     Return false if a player had no such move left */
+    private boolean play(Board board, int i, int moves, SplittableRandom random) {
+        int[] empty = new int[rules.cellCount];
+        Seed player = Seed.CROSS;
+        for (int m = 0; m < moves; ++m) {
+            int count = 0;
+            for (int cell = 0; cell < rules.cellCount; ++cell) {
+                if (board.cells[cell / rules.cols][cell % rules.cols].content == Seed.EMPTY) empty[count++] = cell;
+            }
+            int move = -1;
+            while (count > 0 && move == -1) {
+                int pick = random.nextInt(count);
+                int cell = empty[pick];
+                board.setCell(cell, player);
+                if (board.hasWon(player, cell / rules.cols, cell % rules.cols)) {
+                    board.setCell(cell, Seed.EMPTY);
+                    empty[pick] = empty[--count];  // winning move, try another
+                } else {
+                    move = cell;
+                }
+            }
+            if (move == -1) return false;
+            lastMoves[i] = move;
+            lastSeeds[i] = player;
+            player = (player == Seed.CROSS) ? Seed.NOUGHT : Seed.CROSS;
+        }
+        toMove[i] = player;
+        return true;
+    }
+}
@@ -0,0 +1,62 @@
+package tictactoe;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Game-over checks of Board. Each call moves on to the next position of the
+ * corpus, so the branches see a mix of positions rather than one.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BoardBenchmark {
+    @Param({"3x3/3", "9x9/5", "15x15/5"})
+    public String rules;
+    @Param({"OPENING", "MIDGAME", "NEAR_TERMINAL"})
+    public BenchmarkPositions.Phase phase;
+
+    private BenchmarkPositions positions;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        positions = new BenchmarkPositions(BenchmarkPositions.parseRules(rules), phase);
+    }
+
+    /** The check made after every move: only the lines through the last move */
+    @Benchmark
+    public boolean hasWonLastMove() {
+        int i = next++ & (BenchmarkPositions.COUNT - 1);
+        int cell = positions.lastMoves[i];
+        int cols = positions.rules.cols;
+        return positions.boards[i].hasWon(positions.lastSeeds[i], cell / cols, cell % cols);
+    }
+
+    /** The check of the whole board */
+    @Benchmark
+    public boolean hasWonWholeBoard() {
+        int i = next++ & (BenchmarkPositions.COUNT - 1);
+        return positions.boards[i].hasWon(positions.lastSeeds[i]);
+    }
+
+    @Benchmark
+    public boolean isDraw() {
+        int i = next++ & (BenchmarkPositions.COUNT - 1);
+        return positions.boards[i].isDraw();
+    }
+}
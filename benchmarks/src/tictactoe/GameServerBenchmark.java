@@ -0,0 +1,224 @@
+package tictactoe;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.SplittableRandom;
+
+/**
+ * Scripted clients for GameServer: opens many sessions at once, each playing
+ * random legal moves against the server's AI for a number of games, and
+ * reports the moves per second and the latency percentiles of the replies.
+ * All the clients run on one thread with an NIO selector.
+ * <p>
+ * Arguments (all optional): host port sessions gamesPerSession rows cols winLength ai
+ * <p>
+ * Run with: gradle :benchmarks:runMain -Pbenchmark=GameServerBenchmark -PmainArgs="..."
+ */
+public class GameServerBenchmark {
+    /** One scripted client: its connection and its view of the game */
+    private static final class Client {
+        final SocketChannel channel;
+        final ByteBuffer input = ByteBuffer.allocate(256);
+        final SplittableRandom random;
+        final boolean playsCross;
+        boolean[] taken;
+        int gamesLeft;
+        int lastMove;  // the cell of our pending move, resent if the server is busy
+        long sentAt;   // System.nanoTime() of the pending request
+
+        Client(SocketChannel channel, SplittableRandom random, boolean playsCross, int games) {
+            this.channel = channel;
+            this.random = random;
+            this.playsCross = playsCross;
+            this.gamesLeft = games;
+        }
+    }
+
+    /** The NEW command without the side, e.g., "NEW 3 3 3" */
+    private final String newCommand;
+    private final String ai;
+    private final int cellCount, cols;
+    private long[] latencies = new long[1 << 16];
+    private int latencyCount;
+    private long games, busy, errors;
+    private int open;
+
+    private GameServerBenchmark(int rows, int cols, int winLength, String ai) {
+        this.newCommand = "NEW " + rows + " " + cols + " " + winLength;
+        this.ai = ai;
+        this.cellCount = rows * cols;
+        this.cols = cols;
+    }
+
+    /** Run the sessions to the end, then print the report */
+    private void run(String host, int port, int sessions, int gamesPerSession) throws IOException {
+        SplittableRandom master = new SplittableRandom(42);
+        long start = System.nanoTime();
+        try (Selector selector = Selector.open()) {
+            for (int i = 0; i < sessions; ++i) {
+                SocketChannel channel = SocketChannel.open();
+                channel.configureBlocking(false);
+                channel.socket().setTcpNoDelay(true);
+                channel.connect(new InetSocketAddress(host, port));
+                Client client = new Client(channel, master.split(), i % 2 == 0, gamesPerSession);
+                channel.register(selector, SelectionKey.OP_CONNECT, client);
+                open++;
+            }
+            while (open > 0) {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    Client client = (Client) key.attachment();
+                    try {
+                        if (key.isConnectable()) {
+                            client.channel.finishConnect();
+                            key.interestOps(SelectionKey.OP_READ);
+                            newGame(client);
+                        } else if (key.isReadable()) {
+                            read(client);
+                        }
+                    } catch (IOException e) {
+                        errors++;
+                        close(client);
+                    }
+                }
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies, 0, latencyCount);
+        System.out.printf("%,d sessions, %,d games, %,d moves in %.2f s: %,.0f moves/s, %,d busy, %,d errors%n",
+                sessions, games, latencyCount, elapsed / 1e9, latencyCount * 1e9 / elapsed, busy, errors);
+        System.out.printf("reply latency ms: p50 %.2f, p90 %.2f, p99 %.2f, p99.9 %.2f, max %.2f%n",
+                percentile(0.50), percentile(0.90), percentile(0.99), percentile(0.999), percentile(1.0));
+    }
+
+    private double percentile(double fraction) {
+        if (latencyCount == 0) return 0;
+        int index = (int) Math.min(latencyCount - 1, Math.ceil(fraction * latencyCount) - 1);
+        return latencies[Math.max(0, index)] / 1e6;
+    }
+
+    private void newGame(Client client) throws IOException {
+        client.taken = new boolean[cellCount];
+        send(client, newCommand + (client.playsCross ? " X " : " O ") + ai);
+    }
+
+    /** Read the replies of the server and answer each complete line */
+    private void read(Client client) throws IOException {
+        if (client.channel.read(client.input) < 0) {
+            errors++;  // the server hung up
+            close(client);
+            return;
+        }
+        ByteBuffer input = client.input;
+        input.flip();
+        int start = input.position();
+        for (int i = start; i < input.limit() && client.channel.isOpen(); ++i) {
+            if (input.get(i) == '\n') {
+                String line = new String(input.array(), start, i - start, StandardCharsets.US_ASCII);
+                start = i + 1;
+                handle(client, line.split(" "));
+            }
+        }
+        input.position(start);
+        input.compact();
+    }
+
+    private void handle(Client client, String[] words) throws IOException {
+        switch (words[0]) {
+            case "OK":
+                if (client.playsCross) playRandomMove(client);
+                else client.sentAt = System.nanoTime();  // the AI's first move follows
+                break;
+            case "AI":
+                recordLatency(client);
+                client.taken[Integer.parseInt(words[1]) * cols + Integer.parseInt(words[2])] = true;
+                if (words[3].equals("PLAYING")) playRandomMove(client);
+                else endGame(client);
+                break;
+            case "END":
+                recordLatency(client);
+                endGame(client);
+                break;
+            case "BYE":
+                close(client);
+                break;
+            case "ERR":
+                if (words.length > 1 && words[1].equals("BUSY")) {
+                    busy++;
+                    sendMove(client, client.lastMove);  // try the same move again
+                } else {
+                    System.out.println("Server error: " + String.join(" ", words));
+                    errors++;
+                    close(client);
+                }
+                break;
+            default:
+                errors++;
+                close(client);
+        }
+    }
+
+    private void playRandomMove(Client client) throws IOException {
+        int cell;
+        do {
+            cell = client.random.nextInt(cellCount);
+        } while (client.taken[cell]);
+        client.taken[cell] = true;
+        client.lastMove = cell;
+        sendMove(client, cell);
+    }
+
+    private void sendMove(Client client, int cell) throws IOException {
+        client.sentAt = System.nanoTime();
+        send(client, "MOVE " + (cell / cols) + " " + (cell % cols));
+    }
+
+    private void endGame(Client client) throws IOException {
+        games++;
+        if (--client.gamesLeft > 0) newGame(client);
+        else send(client, "QUIT");
+    }
+
+    private void recordLatency(Client client) {
+        if (latencyCount == latencies.length) latencies = Arrays.copyOf(latencies, latencyCount * 2);
+        latencies[latencyCount++] = System.nanoTime() - client.sentAt;
+    }
+
+    /** Send a line. Requests are short, so the socket buffer takes them at once */
+    private static void send(Client client, String line) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap((line + "\n").getBytes(StandardCharsets.US_ASCII));
+        while (buffer.hasRemaining()) client.channel.write(buffer);
+    }
+
+    private void close(Client client) {
+        if (!client.channel.isOpen()) return;
+        try {
+            client.channel.close();
+        } catch (IOException e) {
+            // closing anyway
+        }
+        open--;
+    }
+
+    public static void main(String[] args) throws IOException {
+        String host = (args.length >= 1) ? args[0] : "localhost";
+        int port = (args.length >= 2) ? Integer.parseInt(args[1]) : GameServer.DEFAULT_PORT;
+        int sessions = (args.length >= 3) ? Integer.parseInt(args[2]) : 1000;
+        int gamesPerSession = (args.length >= 4) ? Integer.parseInt(args[3]) : 10;
+        Rules rules = (args.length >= 7) ? Rules.fromArgs(new String[] {args[4], args[5], args[6]}) : Rules.STANDARD;
+        String ai = (args.length >= 8) ? args[7] : "minimax";
+        new GameServerBenchmark(rules.rows, rules.cols, rules.winLength, ai)
+                .run(host, port, sessions, gamesPerSession);
+    }
+}
@@ -0,0 +1,28 @@
+package tictactoe;
+
+/**
+ * Compares the move orderings of AIPlayerMinimax: prints the positions
+ * searched and the time taken by each, over the same random positions.
+ * Arguments (all optional): rows cols winLength depth positions
+ * <p>
+ * Run with: gradle :benchmarks:runMain -Pbenchmark=MoveOrderingBenchmark -PmainArgs="..."
+ */
+public class MoveOrderingBenchmark {
+    public static void main(String[] args) {
+        Rules rules = (args.length >= 3) ? Rules.fromArgs(args) : new Rules(5, 5, 4);
+        int depth = (args.length >= 4) ? Integer.parseInt(args[3]) : 6;
+        int positions = (args.length >= 5) ? Integer.parseInt(args[4]) : 6;
+
+        Board[] boards = BenchmarkPositions.randomPositions(rules, positions, 4);
+        System.out.println(rules + ", depth " + depth + ", " + positions + " positions");
+
+        long naturalNodes = 0;
+        for (MoveOrdering ordering : MoveOrdering.values()) {
+            BenchmarkPositions.searchAll(boards, depth, player -> player.setMoveOrdering(ordering));  // warm up
+            long[] totals = BenchmarkPositions.searchAll(boards, depth, player -> player.setMoveOrdering(ordering));
+            if (ordering == MoveOrdering.NATURAL) naturalNodes = totals[0];
+            System.out.printf("%-8s %12d nodes %6.1f%%  %8.1f ms%n", ordering, totals[0],
+                    100.0 * totals[0] / naturalNodes, totals[1] / 1e6);
+        }
+    }
+}
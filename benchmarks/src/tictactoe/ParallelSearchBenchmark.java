@@ -0,0 +1,33 @@
+package tictactoe;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Measures the speedup of the parallel AIPlayerMinimax search over the serial
+ * one, for 1, 2, 4... threads up to the number of cores.
+ * Arguments (all optional): rows cols winLength depth positions
+ * <p>
+ * Run with: gradle :benchmarks:runMain -Pbenchmark=ParallelSearchBenchmark -PmainArgs="..."
+ */
+public class ParallelSearchBenchmark {
+    public static void main(String[] args) {
+        Rules rules = (args.length >= 3) ? Rules.fromArgs(args) : new Rules(5, 5, 4);
+        int depth = (args.length >= 4) ? Integer.parseInt(args[3]) : 6;
+        int positions = (args.length >= 5) ? Integer.parseInt(args[4]) : 6;
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        Board[] boards = BenchmarkPositions.randomPositions(rules, positions, 4);
+        System.out.println(rules + ", depth " + depth + ", " + positions + " positions, " + cores + " cores");
+
+        BenchmarkPositions.searchAll(boards, depth, player -> { });  // warm up
+        long serial = BenchmarkPositions.searchAll(boards, depth, player -> { })[1];
+        System.out.printf("serial     %8.1f ms%n", serial / 1e6);
+        for (int threads = 1; threads <= cores; threads *= 2) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            BenchmarkPositions.searchAll(boards, depth, player -> player.setParallel(pool, 3));  // warm up
+            long parallel = BenchmarkPositions.searchAll(boards, depth, player -> player.setParallel(pool, 3))[1];
+            System.out.printf("%2d threads %8.1f ms  speedup %.2fx%n", threads, parallel / 1e6, (double) serial / parallel);
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package tictactoe;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.SplittableRandom;
+
+/**
+ * Compares a SessionArena with one Board per session: heap retained per
+ * session, time to play random moves in all the sessions, and the pause of a
+ * full GC while they are live, which grows with the number of objects to
+ * trace. Run with a heap big enough for the Boards, e.g., -Xmx2g.
+ * <p>
+ * Arguments (all optional): sessions rounds rows cols winLength
+ * <p>
+ * Run with: gradle :benchmarks:runMain -Pbenchmark=SessionArenaBenchmark -PmainArgs="..." -PjvmArgs="-Xmx2g"
+ */
+public class SessionArenaBenchmark {
+    public static void main(String[] args) {
+        int sessions = (args.length >= 1) ? Integer.parseInt(args[0]) : 1_000_000;
+        int rounds = (args.length >= 2) ? Integer.parseInt(args[1]) : 20;
+        Rules rules = (args.length >= 5) ? Rules.fromArgs(new String[] {args[2], args[3], args[4]}) : Rules.STANDARD;
+        System.out.printf("%s: %,d sessions, %d random moves each%n", rules, sessions, rounds);
+
+        measureArena(rules, sessions, rounds);
+        measureBoards(rules, sessions, rounds);
+    }
+
+    private static void measureArena(Rules rules, int sessions, int rounds) {
+        long before = usedHeap();
+        SessionArena arena = new SessionArena(rules, sessions);
+        for (int i = 0; i < sessions; ++i) arena.open();
+        report("SessionArena", before, sessions, () -> playArena(arena, sessions, rounds));
+    }
+
+    private static void measureBoards(Rules rules, int sessions, int rounds) {
+        long before = usedHeap();
+        Board[] boards = new Board[sessions];
+        for (int i = 0; i < sessions; ++i) boards[i] = new Board(rules);
+        report("Board", before, sessions, () -> playBoards(boards, rounds));
+    }
+
+    /** Print the heap taken by the sessions since before, the time of play, and a full GC pause */
+    private static void report(String name, long before, int sessions, Runnable play) {
+        long retained = usedHeap() - before;
+        long start = System.nanoTime();
+        play.run();
+        long elapsed = System.nanoTime() - start;
+        long gcBefore = gcMillis();
+        System.gc();
+        System.out.printf("%-12s %,6d bytes/session, %,8.0f ms to play, full GC %,5d ms%n",
+                name, retained / sessions, elapsed / 1e6, gcMillis() - gcBefore);
+    }
+
+    /** Play rounds random moves in every session, starting a new game after each end */
+    private static void playArena(SessionArena arena, int sessions, int rounds) {
+        SplittableRandom random = new SplittableRandom(42);
+        int cellCount = arena.getRules().cellCount;
+        for (int round = 0; round < rounds; ++round) {
+            for (int id = 0; id < sessions; ++id) {
+                int cell;
+                do {
+                    cell = random.nextInt(cellCount);
+                } while (arena.contentOf(id, cell) != Seed.EMPTY);
+                if (arena.play(id, cell) != GameState.PLAYING) arena.newGame(id);
+            }
+        }
+    }
+
+    /** The same on Boards, keeping the side to move of each board in an array */
+    private static void playBoards(Board[] boards, int rounds) {
+        SplittableRandom random = new SplittableRandom(42);
+        Rules rules = boards[0].rules;
+        Seed[] toMove = new Seed[boards.length];
+        java.util.Arrays.fill(toMove, Seed.CROSS);
+        for (int round = 0; round < rounds; ++round) {
+            for (int id = 0; id < boards.length; ++id) {
+                Board board = boards[id];
+                int cell;
+                do {
+                    cell = random.nextInt(rules.cellCount);
+                } while (board.cells[cell / rules.cols][cell % rules.cols].content != Seed.EMPTY);
+                Seed player = toMove[id];
+                board.setCell(cell, player);
+                if (board.hasWon(player, cell / rules.cols, cell % rules.cols) || board.isDraw()) {
+                    board.init();
+                    toMove[id] = Seed.CROSS;
+                } else {
+                    toMove[id] = (player == Seed.CROSS) ? Seed.NOUGHT : Seed.CROSS;
+                }
+            }
+        }
+    }
+
+    /** Return the heap in use after a full GC */
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; ++i) System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static long gcMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionTime());
+        }
+        return total;
+    }
+}
@@ -0,0 +1,48 @@
+package tictactoe;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Moves of AIPlayerTableLookup, whose preference table is for 3x3 only.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TableLookupBenchmark {
+    @Param({"OPENING", "MIDGAME", "NEAR_TERMINAL"})
+    public BenchmarkPositions.Phase phase;
+
+    /** One player per position, as a player reads the cells of its own board */
+    private AIPlayerTableLookup[] players;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        BenchmarkPositions positions = new BenchmarkPositions(Rules.STANDARD, phase);
+        players = new AIPlayerTableLookup[BenchmarkPositions.COUNT];
+        for (int i = 0; i < players.length; ++i) {
+            players[i] = new AIPlayerTableLookup(positions.boards[i]);
+            players[i].setSeed(positions.toMove[i]);
+        }
+    }
+
+    @Benchmark
+    public int[] move() {
+        return players[next++ & (BenchmarkPositions.COUNT - 1)].move();
+    }
+}
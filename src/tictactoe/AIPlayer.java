@@ -0,0 +1,47 @@
+package tictactoe;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Abstract superclass for all AI players with different strategies.
+ */
+public abstract class AIPlayer {
+    protected int ROWS;  // number of rows
+    protected int COLS;  // number of columns
+
+    protected Board board;    // the game board
+    protected Cell[][] cells; // the board's ROWS-by-COLS array of Cells
+    protected Seed mySeed;    // computer's seed
+    protected Seed oppSeed;   // opponent's seed
+    protected volatile BooleanSupplier cancelCheck = () -> false;  // see setCancelCheck()
+
+    /** Constructor with reference to game board */
+    public AIPlayer(Board board) {
+        this.board = board;
+        cells = board.cells;
+        ROWS = board.rows;
+        COLS = board.cols;
+    }
+
+    /** Set/change the seed used by computer and opponent */
+    public void setSeed(Seed seed) {
+        this.mySeed = seed;
+        oppSeed = (mySeed == Seed.CROSS) ? Seed.NOUGHT : Seed.CROSS;
+    }
+
+    /** Set the condition on which a running move() gives up early and returns
+     whatever it has, e.g., when it runs on a background thread and the game
+     it was asked about is gone. It is polled by the search thread(s) */
+    public void setCancelCheck(BooleanSupplier cancelCheck) {
+        this.cancelCheck = cancelCheck;
+    }
+
+    /** Return a short description of how far a running move() has got, for
+     display. May be called from another thread than move()'s */
+    public String getProgress() {
+        return "";
+    }
+
+    /** Abstract method to get next move. Return int[2] of {row, col} */
+    abstract int[] move();  // to be implemented by subclasses
+}
\ No newline at end of file
@@ -0,0 +1,610 @@
+package tictactoe;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * AIPlayer using Monte Carlo Tree Search with UCT: the tree is grown one node
+ * per iteration towards the moves with the best upper confidence bound, and
+ * each new node is scored by a playout to the end of the game. The most
+ * visited move of the root is played. Unlike minimax it needs no full-width
+ * search, so it scales to big boards.
+ * <p>
+ * Playouts run on compact bitboard copies with per-line seed counts, not on
+ * Board objects. A playout wins at once when it can, else blocks the other
+ * side's immediate win, else plays at random, half the time next to the last
+ * move. With a ForkJoinPool, one worker per thread grows the same tree. The
+ * statistics of a node are a single long updated with atomic adds, so there
+ * are no locks; a worker going down through a node counts a lost visit right
+ * away (virtual loss) and adds the real result on the way back, which steers
+ * the other workers to different lines in the meantime.
+ * <p>
+ * The tree only tries cells within NEIGHBORHOOD rows and columns of a seed, in
+ * the order of a line-count heuristic that also biases UCT while a move has
+ * few visits. A leaf's moves are listed on its second visit, as most leaves
+ * get only one. Game-over positions met in the tree are proven wins, and
+ * proofs are passed up (MCTS-Solver): a node with a winning reply is a proven
+ * loss, a node whose replies are all proven losses is a proven win. Proven
+ * wins are always played and proven losses never.
+ */
+public class AIPlayerMcts extends AIPlayer {
+    /** Default number of iterations (playouts) per move */
+    public static final int DEFAULT_PLAYOUTS = 20_000;
+    /** Name of this strategy in the search statistics and JFR events */
+    static final String STRATEGY = "mcts";
+    private static final SearchStats SEARCH_STATS = SearchStats.of(STRATEGY);
+    /** UCT exploration constant, for rewards in [0, 1] */
+    private static final double EXPLORATION = 0.5;
+    /** Moves of the tree are at most this many rows and columns away from a seed */
+    private static final int NEIGHBORHOOD = 2;
+    /** Visits after which the moves of a leaf are listed */
+    private static final int EXPAND_VISITS = 2;
+    /** Weight of the heuristic prior of a move, fading as 1 / visits (progressive bias) */
+    private static final double PRIOR_WEIGHT = 1.0;
+    /** A line holding n seeds of one side only adds HEURISTIC_BASE^n to its cells */
+    private static final float HEURISTIC_BASE = 8;
+
+    // Results of a game, from the point of view of one side
+    private static final int LOSS = 0, DRAW = 1, WIN = 2;  // half-points
+    private static final int UNKNOWN = -1;
+    /** One visit in the packed statistics of a node */
+    private static final long VISIT = 1L << 32;
+
+    private final Rules rules;
+    private int playoutBudget = DEFAULT_PLAYOUTS;
+    /** Time allowed per move in nanoseconds, 0 to run playoutBudget playouts */
+    private long timeBudget;
+    private ForkJoinPool pool;  // null to search in the calling thread
+    /** One worker per thread, kept from move to move */
+    private final List<Worker> workers = new ArrayList<>();
+    /** Iterations started for the current move, shared by the workers */
+    private final AtomicLong iterations = new AtomicLong();
+    private long deadline;
+    /** Playouts run by the last move() */
+    private long playoutCount;
+    private final int[] result = new int[2];
+    /** rootCounts[side][line]: seeds of the side (0 for CROSS) in each line of the game board */
+    private final int[][] rootCounts;
+    /** heuristicWeights[n] = HEURISTIC_BASE^n */
+    private final float[] heuristicWeights;
+
+    /** Constructor with the given game board */
+    public AIPlayerMcts(Board board) {
+        super(board);
+        rules = board.rules;
+        rootCounts = new int[2][rules.lines.length];
+        heuristicWeights = new float[rules.winLength + 1];
+        for (int n = 0; n <= rules.winLength; ++n) {
+            heuristicWeights[n] = (float) Math.pow(HEURISTIC_BASE, n);
+        }
+    }
+
+    /** Set the number of playouts run by move() when there is no time budget */
+    public void setPlayoutBudget(int playouts) {
+        this.playoutBudget = Math.max(1, playouts);
+    }
+
+    /** Set the time allowed per move. 0 (the default) runs the playout budget instead */
+    public void setTimeBudget(long millis) {
+        this.timeBudget = Math.max(0, millis) * 1_000_000L;
+    }
+
+    /** Run playouts on all threads of the given pool, or in the calling thread if it is null */
+    public void setParallel(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /** Return the number of playouts run by the last move() */
+    public long getPlayoutCount() {
+        return playoutCount;
+    }
+
+    /** Get next best move for computer. Return int[2] of {row, col}, or null
+     if the game is over. The array is reused, it is only valid until the next call */
+    @Override
+    int[] move() {
+        long start = System.nanoTime();
+        SearchEvent event = SearchEvent.beginIfEnabled();
+        deadline = start + timeBudget;
+        iterations.set(0);
+        if (board.isDraw()) return null;
+
+        // The board keeps its line counts up to date on every move
+        System.arraycopy(board.crossCounts, 0, rootCounts[0], 0, rules.lines.length);
+        System.arraycopy(board.noughtCounts, 0, rootCounts[1], 0, rules.lines.length);
+        int threads = (pool != null) ? pool.getParallelism() : 1;
+        while (workers.size() < threads) workers.add(new Worker());
+        Worker first = workers.get(0);
+        first.reset();
+        Node root = new Node(null, -1, oppSeed);
+        root.startExpansion();
+        first.expand(root);
+        if (pool == null) {
+            workers.get(0).run(root);
+        } else {
+            List<ForkJoinTask<?>> tasks = new ArrayList<>(threads);
+            for (int i = 0; i < threads; ++i) {
+                Worker worker = workers.get(i);
+                tasks.add(ForkJoinTask.adapt(() -> worker.run(root)));
+            }
+            pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+        }
+        playoutCount = 0;
+        for (int i = 0; i < threads; ++i) playoutCount += workers.get(i).playouts;
+        long elapsed = System.nanoTime() - start;
+        SEARCH_STATS.record(elapsed, playoutCount, 0, 0, 0);
+        if (event != null && event.shouldCommit()) {
+            event.commit(STRATEGY, playoutCount, elapsed, 0, 0, 0);
+        }
+
+        // Play a proven win, else the most visited move not proven lost
+        Node best = null;
+        for (int i = 0; i < root.children.length(); ++i) {
+            Node child = root.children.get(i);
+            if (child == null) continue;
+            if (child.result == WIN) {
+                best = child;
+                break;
+            }
+            if (best == null || (best.result == LOSS && child.result != LOSS)
+                    || (child.result != LOSS || best.result == LOSS) && visitsOf(child.stats) > visitsOf(best.stats)) {
+                best = child;
+            }
+        }
+        int bestMove = (best != null) ? best.move : root.untried[0];
+        result[0] = bestMove / COLS;  // row
+        result[1] = bestMove % COLS;  // col
+        return result;
+    }
+
+    /** Return the playouts run so far by a running move() */
+    @Override
+    public String getProgress() {
+        return String.format("%,d playouts", iterations.get());
+    }
+
+    /** Return true while the workers should start another iteration */
+    private boolean hasBudget() {
+        if (cancelCheck.getAsBoolean()) return false;
+        if (timeBudget > 0) {
+            iterations.getAndIncrement();
+            return System.nanoTime() - deadline < 0;
+        }
+        return iterations.getAndIncrement() < playoutBudget;
+    }
+
+    private static int visitsOf(long stats) {
+        return (int) (stats >>> 32);
+    }
+
+    private static int halfPointsOf(long stats) {
+        return (int) stats;
+    }
+
+    /** A node of the search tree: the position after "mover" has played "move" */
+    private static final class Node {
+        private static final AtomicLongFieldUpdater<Node> STATS =
+                AtomicLongFieldUpdater.newUpdater(Node.class, "stats");
+        private static final AtomicIntegerFieldUpdater<Node> EXPANDED =
+                AtomicIntegerFieldUpdater.newUpdater(Node.class, "expanded");
+        private static final AtomicIntegerFieldUpdater<Node> EXPANDING =
+                AtomicIntegerFieldUpdater.newUpdater(Node.class, "expanding");
+
+        final Node parent;
+        final int move;
+        final Seed mover;
+        // The moves are only listed once a node is visited again, as most leaves never are.
+        // Set by the worker that won startExpansion(), only to be read once "ready"
+        /** Moves not yet expanded into children, best first; the i-th becomes children[i] */
+        int[] untried;
+        /** Heuristic prior of each move in untried, in (0, 1] */
+        float[] priors;
+        AtomicReferenceArray<Node> children;
+        volatile boolean ready;
+        /** 1 once a worker has started to list the moves */
+        volatile int expanding;
+        /** Number of untried moves claimed by a worker for expansion */
+        volatile int expanded;
+        /** Visits in the high 32 bits, half-points won by "mover" in the low 32 bits */
+        volatile long stats;
+        /** WIN, LOSS or DRAW for mover if the game value is proven, else UNKNOWN */
+        volatile int result = UNKNOWN;
+
+        Node(Node parent, int move, Seed mover) {
+            this.parent = parent;
+            this.move = move;
+            this.mover = mover;
+        }
+
+        /** Return true if the caller is the one worker to list the moves of this node */
+        boolean startExpansion() {
+            return expanding == 0 && EXPANDING.compareAndSet(this, 0, 1);
+        }
+
+        /** Publish the moves of the node */
+        void setMoves(int[] untried, float[] priors) {
+            this.untried = untried;
+            this.priors = priors;
+            this.children = new AtomicReferenceArray<>(untried.length);
+            ready = true;
+        }
+
+        /** Count a visit, as a loss until the playout result is added */
+        void addVirtualLoss() {
+            STATS.getAndAdd(this, VISIT);
+        }
+
+        void addHalfPoints(int halfPoints) {
+            STATS.getAndAdd(this, halfPoints);
+        }
+
+        /** Claim the next untried move. Return its index, or -1 if all are claimed */
+        int claim() {
+            if (expanded >= untried.length) return -1;
+            int i = EXPANDED.getAndIncrement(this);
+            return (i < untried.length) ? i : -1;
+        }
+
+        /** Return true if every child is made and proven lost for the side that played it */
+        boolean allChildrenLost() {
+            if (!ready || expanded < untried.length) return false;
+            for (int i = 0; i < untried.length; ++i) {
+                Node child = children.get(i);
+                if (child == null || child.result != LOSS) return false;
+            }
+            return true;
+        }
+    }
+
+    /** A thread's private state: its copy of the position and its playout buffers */
+    private final class Worker {
+        private final long[] crossBits = new long[board.crossBits.length];
+        private final long[] noughtBits = new long[board.noughtBits.length];
+        private final int[] empties = new int[rules.cellCount];
+        /** positions[cell] is the index of an empty cell in empties */
+        private final int[] positions = new int[rules.cellCount];
+        /** threats[side] lists cells that would complete a line of the side (0 for CROSS),
+         each line adds at most one per playout */
+        private final int[][] threats = new int[2][rules.lines.length];
+        private final int[] threatCounts = new int[2];
+        private final Node[] path = new Node[rules.cellCount + 1];
+        private int moveCount;
+        /** Iterations run for the current move */
+        long playouts;
+        /** lineCounts[side][line]: seeds of the side (0 for CROSS) in each line */
+        private final int[][] lineCounts = new int[2][rules.lines.length];
+        /** near[cell] == nearMark if the cell is close to a seed, see newNode() */
+        private final int[] near = new int[rules.cellCount];
+        private int nearMark;
+        /** The line of the winning move found by forcedMoves(), or -1 */
+        private int forcedLine;
+        private final SplittableRandom random = new SplittableRandom();
+
+        /** Run iterations on the tree of root until the budget is spent or the game value is proven */
+        void run(Node root) {
+            playouts = 0;
+            while (root.result == UNKNOWN && hasBudget()) {
+                iterate(root);
+                playouts++;
+            }
+        }
+
+        /** Copy the position of the game board */
+        void reset() {
+            System.arraycopy(board.crossBits, 0, crossBits, 0, crossBits.length);
+            System.arraycopy(board.noughtBits, 0, noughtBits, 0, noughtBits.length);
+            moveCount = board.moveCount;
+            System.arraycopy(rootCounts[0], 0, lineCounts[0], 0, rules.lines.length);
+            System.arraycopy(rootCounts[1], 0, lineCounts[1], 0, rules.lines.length);
+        }
+
+        /** List the moves of node, whose position is on the worker's board. They
+         are the empty cells near a seed (all of them on an empty board), best
+         first by the heuristic, which also gives their priors. Moves are forced
+         if a line is one seed short: the win if the side to move has one, else
+         the blocks of the other side's lines */
+        void expand(Node node) {
+            if (++nearMark == 0) {
+                java.util.Arrays.fill(near, 0);
+                nearMark = 1;
+            }
+            int side = (node.mover == Seed.CROSS) ? 1 : 0;  // the side to move
+            int count = forcedMoves(side);
+            if (forcedLine >= 0) {
+                node.setMoves(new int[] {empties[0]}, new float[] {1});
+                return;
+            }
+            boolean forced = count > 0;  // only blocks to try
+            for (int word = 0; !forced && word < crossBits.length; ++word) {
+                for (long taken = crossBits[word] | noughtBits[word]; taken != 0; taken &= taken - 1) {
+                    int cell = (word << 6) + Long.numberOfTrailingZeros(taken);
+                    int row = cell / COLS;
+                    int col = cell % COLS;
+                    for (int r = Math.max(0, row - NEIGHBORHOOD); r <= Math.min(ROWS - 1, row + NEIGHBORHOOD); ++r) {
+                        for (int c = Math.max(0, col - NEIGHBORHOOD); c <= Math.min(COLS - 1, col + NEIGHBORHOOD); ++c) {
+                            int other = r * COLS + c;
+                            if (near[other] != nearMark && !Board.isSet(crossBits, other) && !Board.isSet(noughtBits, other)) {
+                                near[other] = nearMark;
+                                empties[count++] = other;
+                            }
+                        }
+                    }
+                }
+            }
+            if (count == 0) {  // empty board
+                for (int cell = 0; cell < rules.cellCount; ++cell) empties[count++] = cell;
+            }
+
+            // Insertion sort by heuristic value, best first, ties in random order
+            int[] moves = new int[count];
+            float[] priors = new float[count];
+            for (int i = 0; i < count; ++i) {
+                int j = i + random.nextInt(count - i);
+                int cell = empties[j];
+                empties[j] = empties[i];
+                float value = heuristic(cell, side);
+                int k = i;
+                for (; k > 0 && priors[k - 1] < value; --k) {
+                    moves[k] = moves[k - 1];
+                    priors[k] = priors[k - 1];
+                }
+                moves[k] = cell;
+                priors[k] = value;
+            }
+            for (int i = count - 1; i >= 0; --i) {
+                priors[i] /= priors[0];  // the best move gets a prior of 1
+            }
+            node.setMoves(moves, priors);
+        }
+
+        /** Put into empties the cell that wins at once for the side (0 for CROSS),
+         leaving its line in forcedLine, else the cells that block an immediate win
+         of the other side. Return how many */
+        private int forcedMoves(int side) {
+            int[] mine = lineCounts[side];
+            int[] theirs = lineCounts[1 - side];
+            int count = 0;
+            for (int line = 0; line < rules.lines.length; ++line) {
+                boolean win = mine[line] == rules.winLength - 1 && theirs[line] == 0;
+                boolean loss = theirs[line] == rules.winLength - 1 && mine[line] == 0;
+                if (!win && !loss) continue;
+                for (int cell : rules.lines[line]) {
+                    if (Board.isSet(crossBits, cell) || Board.isSet(noughtBits, cell)) continue;
+                    if (win) {
+                        empties[0] = cell;
+                        forcedLine = line;
+                        return 1;
+                    }
+                    if (near[cell] != nearMark) {
+                        near[cell] = nearMark;
+                        empties[count++] = cell;
+                    }
+                }
+            }
+            forcedLine = -1;
+            return count;
+        }
+
+        /** Heuristic value of a move for the side (0 for CROSS): over the lines through
+         the cell, HEURISTIC_BASE^n for n seeds of the side in an otherwise empty
+         line (attack), the same for the other side (defence). Always positive */
+        private float heuristic(int cell, int side) {
+            int[] mine = lineCounts[side];
+            int[] theirs = lineCounts[1 - side];
+            float value = 1;
+            for (int line : rules.linesThrough[cell]) {
+                if (theirs[line] == 0) value += heuristicWeights[mine[line]];
+                if (mine[line] == 0) value += heuristicWeights[theirs[line]];
+            }
+            return value;
+        }
+
+        /** Select down the tree, expand one node, play out and back up the result */
+        private void iterate(Node root) {
+            reset();
+
+            Node node = root;
+            int length = 0;
+            path[length++] = node;
+            node.addVirtualLoss();
+            Seed player = mySeed;
+            while (node.result == UNKNOWN) {
+                if (!node.ready) {
+                    // A leaf: play out from it, unless it is due to be listed now
+                    if (visitsOf(node.stats) < EXPAND_VISITS || !node.startExpansion()) break;
+                    expand(node);
+                }
+                int i = node.claim();
+                if (i >= 0) {
+                    // The claimed move becomes a new leaf
+                    Node child = newChild(node, node.untried[i], player);
+                    node.children.set(i, child);
+                    if (child.result == WIN) prove(child);
+                    node = child;
+                    path[length++] = node;
+                    node.addVirtualLoss();
+                    break;
+                }
+                Node child = select(node);
+                if (child == null) break;  // children still being made by other workers
+                play(child.move, player);  // not a win, else child would be proven
+                node = child;
+                path[length++] = node;
+                node.addVirtualLoss();
+                player = (player == Seed.CROSS) ? Seed.NOUGHT : Seed.CROSS;
+            }
+
+            Seed winner;
+            Seed other = (node.mover == Seed.CROSS) ? Seed.NOUGHT : Seed.CROSS;
+            if (node.result == WIN) {
+                winner = node.mover;
+            } else if (node.result == LOSS) {
+                winner = other;
+            } else if (node.result == DRAW) {
+                winner = Seed.EMPTY;
+            } else {
+                winner = playout(other);
+            }
+            for (int i = 0; i < length; ++i) {
+                Node n = path[i];
+                n.addHalfPoints((winner == Seed.EMPTY) ? DRAW : (winner == n.mover) ? WIN : LOSS);
+            }
+        }
+
+        /** Play move for player on the worker's board and return the new node */
+        private Node newChild(Node parent, int move, Seed player) {
+            Node child = new Node(parent, move, player);
+            if (play(move, player)) {
+                child.result = WIN;
+            } else if (moveCount == rules.cellCount) {
+                child.result = DRAW;
+            }
+            return child;
+        }
+
+        /** A proven win for the mover of node: its parent is a proven loss, and so on
+         up the tree while a node is left with nothing but lost replies */
+        private void prove(Node node) {
+            while (node.parent != null) {
+                Node parent = node.parent;
+                parent.result = LOSS;
+                Node grandParent = parent.parent;
+                if (grandParent == null || !grandParent.allChildrenLost()) return;
+                grandParent.result = WIN;
+                node = grandParent;
+            }
+        }
+
+        /** Return the child of a fully expanded node with the highest UCT value,
+         a proven win if there is one, or null if no child is made yet.
+         Proven losses are only returned if nothing else is left */
+        private Node select(Node node) {
+            double logVisits = Math.log(Math.max(1, visitsOf(node.stats)));
+            Node best = null;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < node.children.length(); ++i) {
+                Node child = node.children.get(i);
+                if (child == null) continue;
+                if (child.result == WIN) return child;
+                if (child.result == LOSS) {
+                    if (best == null) best = child;
+                    continue;
+                }
+                long stats = child.stats;
+                int visits = Math.max(1, visitsOf(stats));
+                double value = halfPointsOf(stats) / (2.0 * visits)
+                        + EXPLORATION * Math.sqrt(logVisits / visits)
+                        + PRIOR_WEIGHT * node.priors[i] / visits;  // progressive bias
+                if (value > bestValue || best.result == LOSS) {
+                    bestValue = value;
+                    best = child;
+                }
+            }
+            return best;
+        }
+
+        /** Put player's seed into the cell on the worker's board.
+         Return true if it completes a line */
+        private boolean play(int cell, Seed player) {
+            long[] bits = (player == Seed.CROSS) ? crossBits : noughtBits;
+            bits[cell >>> 6] |= 1L << cell;
+            moveCount++;
+            int[] counts = lineCounts[(player == Seed.CROSS) ? 0 : 1];
+            boolean won = false;
+            for (int line : rules.linesThrough[cell]) {
+                if (++counts[line] == rules.winLength) won = true;
+            }
+            return won;
+        }
+
+        /** Play out the game from the worker's board, player first. Each side wins
+         at once when it can and otherwise blocks the other's immediate win,
+         else plays a random empty cell. Return the winner, or Seed.EMPTY for a draw */
+        private Seed playout(Seed player) {
+            int count = 0;
+            for (int word = 0; word < crossBits.length; ++word) {
+                long empty = ~(crossBits[word] | noughtBits[word]);
+                int base = word << 6;
+                if (rules.cellCount - base < 64) {
+                    empty &= (1L << (rules.cellCount - base)) - 1;  // no cells past the end
+                }
+                for (; empty != 0; empty &= empty - 1) {
+                    int cell = base + Long.numberOfTrailingZeros(empty);
+                    positions[cell] = count;
+                    empties[count++] = cell;
+                }
+            }
+            threatCounts[0] = 0;
+            threatCounts[1] = 0;
+            for (int line = 0; line < rules.lines.length; ++line) {
+                addThreat(line, 0);
+                addThreat(line, 1);
+            }
+
+            int lastCell = -1;
+            while (count > 0) {
+                Seed other = (player == Seed.CROSS) ? Seed.NOUGHT : Seed.CROSS;
+                int cell = threat(player);  // win
+                if (cell < 0) cell = threat(other);  // or block
+                if (cell < 0 && lastCell >= 0 && random.nextBoolean()) {
+                    cell = nearCell(lastCell);  // half the time, answer close to the last move
+                }
+                if (cell < 0) cell = empties[random.nextInt(count)];
+                // Remove the cell from the empties, the last one takes its place
+                int last = empties[--count];
+                empties[positions[cell]] = last;
+                positions[last] = positions[cell];
+
+                lastCell = cell;
+                if (play(cell, player)) return player;
+                int side = (player == Seed.CROSS) ? 0 : 1;
+                for (int line : rules.linesThrough[cell]) {
+                    addThreat(line, side);
+                }
+                player = other;
+            }
+            return Seed.EMPTY;
+        }
+
+        /** Return a random empty cell next to the given one, or -1 if the one drawn is not empty */
+        private int nearCell(int cell) {
+            int r = cell / COLS + random.nextInt(3) - 1;
+            int c = cell % COLS + random.nextInt(3) - 1;
+            if (r < 0 || r >= ROWS || c < 0 || c >= COLS) return -1;
+            int near = r * COLS + c;
+            return (!Board.isSet(crossBits, near) && !Board.isSet(noughtBits, near)) ? near : -1;
+        }
+
+        /** If the side (0 for CROSS) has all but one cell of the line and the other
+         one is empty, record that cell as a threat of the side */
+        private void addThreat(int line, int side) {
+            if (lineCounts[side][line] != rules.winLength - 1 || lineCounts[1 - side][line] != 0) return;
+            for (int cell : rules.lines[line]) {
+                if (!Board.isSet(crossBits, cell) && !Board.isSet(noughtBits, cell)) {
+                    threats[side][threatCounts[side]++] = cell;
+                    return;
+                }
+            }
+        }
+
+        /** Return a cell where player would win at once, or -1 if there is none.
+         Threats whose cell has been taken since are dropped */
+        private int threat(Seed player) {
+            int side = (player == Seed.CROSS) ? 0 : 1;
+            int[] cells = threats[side];
+            while (threatCounts[side] > 0) {
+                int cell = cells[threatCounts[side] - 1];
+                if (!Board.isSet(crossBits, cell) && !Board.isSet(noughtBits, cell)) return cell;
+                threatCounts[side]--;
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package tictactoe;
+
+import java.util.concurrent.ForkJoinPool;
+
+/** AIPlayer using Minimax algorithm */
+public class AIPlayerMinimax extends AIPlayer {
+
+    /** Default memory cap of the transposition table */
+    public static final long DEFAULT_TABLE_BYTES = 4L << 20;  // 4 MB
+    /** Deepest search supported */
+    public static final int MAX_DEPTH = MinimaxSearch.MAX_DEPTH;
+    /** Name of this strategy in the search statistics and JFR events */
+    static final String STRATEGY = "minimax";
+    private static final SearchStats SEARCH_STATS = SearchStats.of(STRATEGY);
+
+    /** State shared by the searchers: transposition table, seeds, thread pool */
+    private final MinimaxSearch.Shared shared;
+    /** The searcher that runs move(), on its own copy of the game board */
+    private final MinimaxSearch search;
+    private int searchDepth = 2;
+    /** Time allowed per move in nanoseconds, 0 to search to searchDepth */
+    private long timeBudget;
+    /** The move returned by move(), {row, col} */
+    private final int[] result = new int[2];
+    /** Positions visited by the last move() */
+    private long nodeCount;
+    /** Nodes expanded and cut off by the last move() */
+    private long expandedCount, cutoffCount;
+    /** Tablebase hits of the last move() */
+    private long tablebaseHits;
+    /** Node count of the searcher when the running move() started */
+    private volatile long nodesBefore;
+
+    /** Constructor with the given game board */
+    public AIPlayerMinimax(Board board) {
+        this(board, DEFAULT_TABLE_BYTES);
+    }
+
+    /** Constructor with the given game board and memory cap of the transposition table */
+    public AIPlayerMinimax(Board board, long tableBytes) {
+        this(board, tableBytes, SolvedCache.shared(board.rules));
+    }
+
+    /** Constructor with the given game board, memory cap of the transposition table,
+     and cache of exact results shared with other players, or null for none */
+    public AIPlayerMinimax(Board board, long tableBytes, SolvedCache solved) {
+        super(board);
+        shared = new MinimaxSearch.Shared(board.rules, new TranspositionTable(tableBytes));
+        search = new MinimaxSearch(shared);
+        shared.solved = solved;
+    }
+
+    /** Set/change the seed used by computer and opponent. Cached scores are
+     from the computer's point of view, so they are dropped on a change */
+    @Override
+    public void setSeed(Seed seed) {
+        if (seed != mySeed) {
+            shared.table.clear();
+        }
+        super.setSeed(seed);
+        shared.mySeed = mySeed;
+        shared.oppSeed = oppSeed;
+    }
+
+    /** Set the number of plies searched by move(), at most MAX_DEPTH */
+    public void setSearchDepth(int searchDepth) {
+        this.searchDepth = Math.max(1, Math.min(searchDepth, MAX_DEPTH));
+    }
+
+    /** Set the time allowed per move. move() then deepens the search until the
+     time is up and plays the best move of the deepest completed iteration.
+     0 (the default) searches to the fixed search depth instead */
+    public void setTimeBudget(long millis) {
+        this.timeBudget = Math.max(0, millis) * 1_000_000L;
+    }
+
+    /** Return the depth of the last completed search */
+    public int getCompletedDepth() {
+        return search.completedDepth;
+    }
+
+    /** Search in parallel on the given pool, or serially if it is null.
+     Nodes with at least splitDepth plies left to search are split */
+    public void setParallel(ForkJoinPool pool, int splitDepth) {
+        shared.pool = pool;
+        shared.splitDepth = Math.max(1, splitDepth);
+    }
+
+    /** Set the order in which moves are tried, DYNAMIC by default. A better
+     order gives more alpha-beta cut-offs, i.e., fewer nodes to search */
+    public void setMoveOrdering(MoveOrdering ordering) {
+        shared.ordering = ordering;
+    }
+
+    /** Probe the given tablebase, of the same rules, at the nodes it covers, or none if null.
+     Its results are exact, so the search ends there instead of going deeper */
+    public void setTablebase(Tablebase tablebase) {
+        if (tablebase != null) {
+            Rules other = tablebase.getRules();
+            if (other.rows != board.rules.rows || other.cols != board.rules.cols
+                    || other.winLength != board.rules.winLength) {
+                throw new IllegalArgumentException("Tablebase of other rules " + other);
+            }
+        }
+        shared.tablebase = tablebase;
+        shared.table.clear();  // scores searched without it are on another scale
+    }
+
+    /** Share exact results with the other players through the given cache, or with none if null.
+     By default, the cache shared by all the players of the rules in this process */
+    public void setSolvedCache(SolvedCache solved) {
+        shared.solved = solved;
+    }
+
+    /** Return the cache of exact results shared with other players, or null */
+    public SolvedCache getSolvedCache() {
+        return shared.solved;
+    }
+
+    /** Return the number of nodes of the last move() whose result was found in the tablebase (serial search) */
+    public long getTablebaseHits() {
+        return tablebaseHits;
+    }
+
+    /** Return the number of positions visited by the last move(), parallel searchers included */
+    public long getNodeCount() {
+        return nodeCount;
+    }
+
+    /** Return the fraction of the nodes expanded by the last move() that were cut off */
+    public double getCutoffRatio() {
+        return (expandedCount > 0) ? (double) cutoffCount / expandedCount : 0;
+    }
+
+    /** Return the depth completed and the positions visited so far by a running move() */
+    @Override
+    public String getProgress() {
+        long nodes = search.nodes - nodesBefore + shared.taskNodes.sum();
+        return String.format("depth %d, %,d positions", search.completedDepth, nodes);
+    }
+
+    /** Return the transposition table, e.g., for its hit and miss counters */
+    public TranspositionTable getTranspositionTable() {
+        return shared.table;
+    }
+
+    /** Get next best move for computer. Return int[2] of {row, col}.
+     The array is reused, it is only valid until the next call */
+    @Override
+    int[] move() {
+        long start = System.nanoTime();
+        SearchEvent event = SearchEvent.beginIfEnabled();
+        shared.table.newSearch();
+        shared.taskNodes.reset();
+        shared.taskExpanded.reset();
+        shared.taskCutoffs.reset();
+        search.newSearch();
+        if (shared.pool != null) {
+            for (MinimaxSearch spare : shared.spares) spare.newSearch();
+        }
+        nodesBefore = search.nodes;
+        long expandedBefore = search.expanded;
+        long cutoffsBefore = search.cutoffs;
+        long hitsBefore = search.tablebaseHits;
+        shared.cancelCheck = cancelCheck;
+        search.board.copyFrom(board);  // never search on the shared game board
+        int bestMove;
+        if (timeBudget > 0) {
+            shared.deadline = start + timeBudget;
+            shared.timed = true;
+            bestMove = search.iterate(MAX_DEPTH);
+        } else {
+            shared.timeUp = false;
+            bestMove = search.search(searchDepth);
+            search.completedDepth = searchDepth;
+        }
+        nodeCount = search.nodes - nodesBefore + shared.taskNodes.sum();
+        expandedCount = search.expanded - expandedBefore + shared.taskExpanded.sum();
+        cutoffCount = search.cutoffs - cutoffsBefore + shared.taskCutoffs.sum();
+        tablebaseHits = search.tablebaseHits - hitsBefore;
+        long elapsed = System.nanoTime() - start;
+        SEARCH_STATS.record(elapsed, nodeCount, search.completedDepth, expandedCount, cutoffCount);
+        if (event != null && event.shouldCommit()) {
+            event.commit(STRATEGY, nodeCount, elapsed, search.completedDepth, expandedCount, cutoffCount);
+        }
+        if (bestMove == -1) {
+            // If no good move found, try to find any empty cell
+            int[] moves = new int[board.rules.cellCount];
+            if (search.generateMoves(moves) == 0) {
+                return null; // No valid move available
+            }
+            bestMove = moves[0];
+        }
+        result[0] = bestMove / COLS;  // row
+        result[1] = bestMove % COLS;  // col
+        return result;
+    }
+}
@@ -0,0 +1,115 @@
+package tictactoe;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Computer move based on a table of optimal moves for the standard 3x3 game.
+ * The whole game is solved once, when the class is loaded. Only canonical
+ * positions (see Symmetry) are stored: a sorted array of their keys and the
+ * optimal move of each, in the canonical frame. A move() canonicalizes the
+ * board, finds the key with a binary search over the 627 entries and maps the
+ * move back with the inverse transform, giving perfect play.
+ */
+public class AIPlayerSolvedTable extends AIPlayer {
+    private static final int CELLS = 9;
+    private static final Symmetry SYMMETRY = Rules.STANDARD.symmetry;
+
+    /** Sorted canonical keys of all reachable positions that are not game-over */
+    private static final int[] KEYS;
+    /** Best move (cell index row * 3 + col, canonical frame) for each key */
+    private static final byte[] BEST_MOVES;
+
+    /** The move returned by move(), {row, col} */
+    private final int[] result = new int[2];
+
+    static {
+        Map<Integer, Integer> values = new HashMap<>();  // only needed while solving
+        Map<Integer, Integer> moves = new HashMap<>();
+        solve(0, 0, values, moves);
+        KEYS = new int[moves.size()];
+        int i = 0;
+        for (int key : moves.keySet()) KEYS[i++] = key;
+        Arrays.sort(KEYS);
+        BEST_MOVES = new byte[KEYS.length];
+        for (i = 0; i < KEYS.length; ++i) {
+            BEST_MOVES[i] = (byte) (int) moves.get(KEYS[i]);
+        }
+    }
+
+    /** constructor, only the standard 3x3 rules are supported */
+    public AIPlayerSolvedTable(Board board) {
+        super(board);
+        if (board.rules.rows != 3 || board.rules.cols != 3 || board.rules.winLength != 3) {
+            throw new IllegalArgumentException("AIPlayerSolvedTable only plays the standard 3x3 game, not " + board.rules);
+        }
+    }
+
+    /** Get next best move
+     * @return int[2] of {row, col}, or null if the game is over.
+     * The array is reused, it is only valid until the next call
+     */
+    @Override
+    int[] move() {
+        long crossBits = board.crossBits[0];
+        long noughtBits = board.noughtBits[0];
+        long packed = SYMMETRY.canonicalKey(crossBits, noughtBits);
+        int index = Arrays.binarySearch(KEYS, (int) Symmetry.keyOf(packed));
+        int move;
+        if (index >= 0) {
+            move = SYMMETRY.inverse[Symmetry.transformOf(packed)][BEST_MOVES[index]];
+        } else {
+            // Not reachable with CROSS moving first, take any empty cell
+            int empty = (int) ~(crossBits | noughtBits) & ((1 << CELLS) - 1);
+            if (empty == 0) return null;
+            move = Integer.numberOfTrailingZeros(empty);
+        }
+        result[0] = move / 3;  // row
+        result[1] = move % 3;  // col
+        return result;
+    }
+
+    /** Negamax over the whole game tree, memoized by canonical key. Return the
+     value for the side to move: 0 for a draw, otherwise +/-(1 + empty cells
+     left at the end), so that faster wins and slower losses are preferred */
+    private static int solve(int crossBits, int noughtBits, Map<Integer, Integer> values, Map<Integer, Integer> moves) {
+        long packed = SYMMETRY.canonicalKey(crossBits, noughtBits);
+        int key = (int) Symmetry.keyOf(packed);
+        Integer known = values.get(key);
+        if (known != null) return known;
+
+        boolean crossToMove = Integer.bitCount(crossBits) == Integer.bitCount(noughtBits);
+        int lastMover = crossToMove ? noughtBits : crossBits;
+        int empty = ~(crossBits | noughtBits) & ((1 << CELLS) - 1);
+        int value;
+        if (hasWon(lastMover)) {
+            value = -(1 + Integer.bitCount(empty));  // the opponent has just won
+        } else if (empty == 0) {
+            value = 0;  // draw
+        } else {
+            value = Integer.MIN_VALUE;
+            int bestMove = -1;
+            for (int rest = empty; rest != 0; rest &= rest - 1) {
+                int bit = rest & -rest;
+                int score = crossToMove ? -solve(crossBits | bit, noughtBits, values, moves)
+                                        : -solve(crossBits, noughtBits | bit, values, moves);
+                if (score > value) {
+                    value = score;
+                    bestMove = Integer.numberOfTrailingZeros(bit);
+                }
+            }
+            moves.put(key, SYMMETRY.cells[Symmetry.transformOf(packed)][bestMove]);
+        }
+        values.put(key, value);
+        return value;
+    }
+
+    /** Return true if the bitboard covers one of the 8 lines of the standard board */
+    private static boolean hasWon(int bits) {
+        for (long mask : Rules.STANDARD.lineMasks) {
+            if ((bits & mask) == mask) return true;
+        }
+        return false;
+    }
+}
@@ -1,3 +1,5 @@
+package tictactoe;
+
 /**
  * Computer move based on simple table lookup of preferences
  */
@@ -13,6 +15,9 @@ public class AIPlayerTableLookup extends AIPlayer {
     /** constructor */
     public AIPlayerTableLookup(Board board) {
         super(board);
+        if (board.rules.rows != 3 || board.rules.cols != 3 || board.rules.winLength != 3) {
+            throw new IllegalArgumentException("AIPlayerTableLookup only plays the standard 3x3 game, not " + board.rules);
+        }
     }
 
     /** Get next best move
@@ -0,0 +1,47 @@
+package tictactoe;
+
+/**
+ * Audio output of SoundEffect, selected once per process by select(). Sounds
+ * are named by their file in the sounds directory. Implementations return at
+ * once: the game loop never waits on an audio line. The default methods do
+ * nothing, which makes NONE the backend without audio.
+ */
+public interface AudioBackend {
+    /** Backend that plays nothing and never touches the audio stack */
+    AudioBackend NONE = new AudioBackend() {
+    };
+
+    /** Load the sounds in the background, so that they start without delay later */
+    default void preload(String... sounds) {
+    }
+
+    /** Play the sound once from its start */
+    default void playClip(String sound) {
+    }
+
+    /** Stop the sounds started by playClip() */
+    default void stopClips() {
+    }
+
+    /** Loop the sound as background music, replacing any other */
+    default void playMusic(String sound) {
+    }
+
+    default void stopMusic() {
+    }
+
+    /**
+     * Return the backend of the system property tictactoe.audio: "none" for
+     * NONE, otherwise JavaSound if the system has an audio device, else NONE.
+     */
+    static AudioBackend select() {
+        if ("none".equalsIgnoreCase(System.getProperty("tictactoe.audio"))) {
+            return NONE;
+        }
+        if (!JavaSoundBackend.isAvailable()) {
+            System.out.println("No audio device, sounds are off");
+            return NONE;
+        }
+        return new JavaSoundBackend(new java.io.File("sounds"));
+    }
+}
@@ -0,0 +1,322 @@
+package tictactoe;
+
+/**
+ * The Board class models the TTT game-board of rows x cols cells,
+ * as described by its Rules (3x3 by default).
+ */
+public class Board {
+    // Define properties (package-visible)
+    /** The game variant: board size and number in a row needed to win */
+    final Rules rules;
+    /** Number of rows and columns */
+    final int rows, cols;
+    /** A board composes of [rows]x[cols] Cell instances, kept as a view of the bitboards */
+    Cell[][] cells;
+    /** Bitboards of the cells occupied by CROSS and NOUGHT.
+     Cell index i is bit (i & 63) of word (i >>> 6) */
+    long[] crossBits, noughtBits;
+    /** Number of occupied cells */
+    int moveCount;
+    /** Zobrist hash of the position, updated on every setCell() */
+    long hash;
+    /** symHashes[t] is the Zobrist hash of the position after symmetry transform t */
+    long[] symHashes;
+    /** Number of CROSS and NOUGHT seeds in each line of rules.lines */
+    int[] crossCounts, noughtCounts;
+    /** Sum of rules.lineValues over all lines, i.e., the heuristic value of the
+     position from CROSS's point of view. Updated on every setCell() from the
+     lines through the cell only */
+    int lineScore;
+    /** Moves made by makeMove(), as cell index << 1 | 1 for NOUGHT; the first
+     stackSize are on the board, the ones up to redoSize were undone and can be redone */
+    int[] moveStack;
+    int stackSize, redoSize;
+
+    /** Constructor to initialize the standard 3x3 game board */
+    public Board() {
+        this(Rules.STANDARD);
+    }
+
+    /** Constructor to initialize a game board for the given rules */
+    public Board(Rules rules) {
+        this.rules = rules;
+        this.rows = rules.rows;
+        this.cols = rules.cols;
+        initGame();
+    }
+
+    /** Constructor to make a copy of another board */
+    public Board(Board other) {
+        this(other.rules);
+        copyFrom(other);
+    }
+
+    /** Initialize the board (run once) */
+    public void initGame() {
+        cells = new Cell[rows][cols];  // allocate the array
+        for (int row = 0; row < rows; ++row) {
+            for (int col = 0; col < cols; ++col) {
+                // Allocate element of the array
+                cells[row][col] = new Cell(row, col);
+            }
+        }
+        crossBits = new long[(rules.cellCount + 63) >>> 6];
+        noughtBits = new long[crossBits.length];
+        symHashes = new long[rules.symmetry.count];
+        crossCounts = new int[rules.lines.length];
+        noughtCounts = new int[rules.lines.length];
+        moveStack = new int[rules.cellCount];
+    }
+
+    /** Initialize the contents of the game board */
+    public void init() {
+        for (int row = 0; row < rows; ++row) {
+            for (int col = 0; col < cols; ++col) {
+                cells[row][col].clear();  // clear the cell content
+            }
+        }
+        java.util.Arrays.fill(crossBits, 0L);
+        java.util.Arrays.fill(noughtBits, 0L);
+        moveCount = 0;
+        hash = 0L;
+        java.util.Arrays.fill(symHashes, 0L);
+        java.util.Arrays.fill(crossCounts, 0);
+        java.util.Arrays.fill(noughtCounts, 0);
+        lineScore = 0;
+        stackSize = 0;
+        redoSize = 0;
+    }
+
+    /** Make this board hold the same position as another board of the same rules */
+    public void copyFrom(Board other) {
+        System.arraycopy(other.crossBits, 0, crossBits, 0, crossBits.length);
+        System.arraycopy(other.noughtBits, 0, noughtBits, 0, noughtBits.length);
+        System.arraycopy(other.symHashes, 0, symHashes, 0, symHashes.length);
+        System.arraycopy(other.crossCounts, 0, crossCounts, 0, crossCounts.length);
+        System.arraycopy(other.noughtCounts, 0, noughtCounts, 0, noughtCounts.length);
+        moveCount = other.moveCount;
+        hash = other.hash;
+        lineScore = other.lineScore;
+        System.arraycopy(other.moveStack, 0, moveStack, 0, other.redoSize);
+        stackSize = other.stackSize;
+        redoSize = other.redoSize;
+        for (int row = 0; row < rows; ++row) {
+            for (int col = 0; col < cols; ++col) {
+                cells[row][col].content = other.cells[row][col].content;
+            }
+        }
+    }
+
+    /** Put theSeed (or EMPTY) into the cell at (row, col), keeping the bitboards in sync.
+     Used to set up positions: the move stack is left as it is */
+    public void setCell(int row, int col, Seed theSeed) {
+        setCell(row * cols + col, theSeed);
+    }
+
+    /** Put theSeed (or EMPTY) into the cell with the given index (row * cols + col) */
+    public void setCell(int index, Seed theSeed) {
+        int word = index >>> 6;
+        long bit = 1L << index;
+        if ((crossBits[word] & bit) != 0) {
+            toggleHash(rules.crossKeys, index);
+            addToLines(crossCounts, index, -1);
+            moveCount--;
+        } else if ((noughtBits[word] & bit) != 0) {
+            toggleHash(rules.noughtKeys, index);
+            addToLines(noughtCounts, index, -1);
+            moveCount--;
+        }
+        crossBits[word] &= ~bit;
+        noughtBits[word] &= ~bit;
+        if (theSeed == Seed.CROSS) {
+            crossBits[word] |= bit;
+            toggleHash(rules.crossKeys, index);
+            addToLines(crossCounts, index, 1);
+            moveCount++;
+        } else if (theSeed == Seed.NOUGHT) {
+            noughtBits[word] |= bit;
+            toggleHash(rules.noughtKeys, index);
+            addToLines(noughtCounts, index, 1);
+            moveCount++;
+        }
+        cells[index / cols][index % cols].content = theSeed;
+    }
+
+    /** Place the player's seed (CROSS or NOUGHT) in the empty cell with the given index
+     (row * cols + col) and push the move on the move stack, dropping the moves that could
+     be redone. A cell is emptied by unmakeMove(), or by setCell() to set up a position */
+    public void makeMove(int index, Seed player) {
+        if (player != Seed.CROSS && player != Seed.NOUGHT) {
+            throw new IllegalArgumentException("Invalid player " + player + ", use unmakeMove() or setCell() to clear a cell");
+        }
+        int word = index >>> 6;
+        long bit = 1L << index;
+        if (((crossBits[word] | noughtBits[word]) & bit) != 0) {
+            throw new IllegalArgumentException("Cell " + index + " is not empty");
+        }
+        if (player == Seed.CROSS) {
+            crossBits[word] |= bit;
+            toggleHash(rules.crossKeys, index);
+            addToLines(crossCounts, index, 1);
+            moveStack[stackSize++] = index << 1;
+        } else {
+            noughtBits[word] |= bit;
+            toggleHash(rules.noughtKeys, index);
+            addToLines(noughtCounts, index, 1);
+            moveStack[stackSize++] = index << 1 | 1;
+        }
+        moveCount++;
+        redoSize = stackSize;
+        cells[index / cols][index % cols].content = player;
+    }
+
+    /** Take back the last move made by makeMove(), which can then be redone. Return its cell index */
+    public int unmakeMove() {
+        if (stackSize == 0) {
+            throw new IllegalStateException("No move to unmake");
+        }
+        int entry = moveStack[--stackSize];
+        int index = entry >>> 1;
+        long bit = 1L << index;
+        if ((entry & 1) == 0) {
+            crossBits[index >>> 6] &= ~bit;
+            toggleHash(rules.crossKeys, index);
+            addToLines(crossCounts, index, -1);
+        } else {
+            noughtBits[index >>> 6] &= ~bit;
+            toggleHash(rules.noughtKeys, index);
+            addToLines(noughtCounts, index, -1);
+        }
+        moveCount--;
+        cells[index / cols][index % cols].content = Seed.EMPTY;
+        return index;
+    }
+
+    /** Make again the last move taken back by unmakeMove(). Return its cell index */
+    public int redoMove() {
+        if (stackSize == redoSize) {
+            throw new IllegalStateException("No move to redo");
+        }
+        int entry = moveStack[stackSize];
+        int keep = redoSize;
+        makeMove(entry >>> 1, ((entry & 1) == 0) ? Seed.CROSS : Seed.NOUGHT);
+        redoSize = keep;  // the later undone moves stay redoable
+        return entry >>> 1;
+    }
+
+    /** Return true if there is a move to unmake */
+    public boolean canUndo() {
+        return stackSize > 0;
+    }
+
+    /** Return true if there is a move to redo */
+    public boolean canRedo() {
+        return redoSize > stackSize;
+    }
+
+    /** Return the number of moves on the move stack */
+    public int stackSize() {
+        return stackSize;
+    }
+
+    /** Return the cell index of move i of the stack, 0 for the first */
+    public int stackMove(int i) {
+        return moveStack[i] >>> 1;
+    }
+
+    /** Return the seed of move i of the stack */
+    public Seed stackPlayer(int i) {
+        return ((moveStack[i] & 1) == 0) ? Seed.CROSS : Seed.NOUGHT;
+    }
+
+    /** XOR the key of the cell with the given index into the hash of every transform */
+    private void toggleHash(long[] keys, int index) {
+        hash ^= keys[index];
+        int[][] images = rules.symmetry.cells;
+        for (int t = 0; t < symHashes.length; ++t) {
+            symHashes[t] ^= keys[images[t][index]];
+        }
+    }
+
+    /** Add delta to the counts of the lines through the cell, keeping lineScore in step */
+    private void addToLines(int[] counts, int index, int delta) {
+        int[][] values = rules.lineValues;
+        for (int line : rules.linesThrough[index]) {
+            lineScore -= values[crossCounts[line]][noughtCounts[line]];
+            counts[line] += delta;
+            lineScore += values[crossCounts[line]][noughtCounts[line]];
+        }
+    }
+
+    /** Return the transform that maps this position to its canonical form,
+     the one of its symmetric positions with the smallest hash */
+    public int canonicalTransform() {
+        return Symmetry.minIndex(symHashes);
+    }
+
+    /** Return the bitboard of the cells occupied by theSeed (CROSS or NOUGHT) */
+    public long[] bitsOf(Seed theSeed) {
+        return (theSeed == Seed.CROSS) ? crossBits : noughtBits;
+    }
+
+    /** Return true if the cell with the given index is occupied by the owner of bits */
+    static boolean isSet(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /** Return true if it is a draw (i.e., no more empty cell) */
+    public boolean isDraw() {
+        return moveCount == rules.cellCount;
+    }
+
+    /** Return true if the player with "theSeed" has won anywhere on the board */
+    public boolean hasWon(Seed theSeed) {
+        long[] bits = bitsOf(theSeed);
+        if (rules.lineMasks != null) {  // whole board in one word, test the line masks
+            long word = bits[0];
+            for (long mask : rules.lineMasks) {
+                if ((word & mask) == mask) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        for (int[] line : rules.lines) {
+            int i = 0;
+            while (i < line.length && isSet(bits, line[i])) i++;
+            if (i == line.length) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Return true if the player with "theSeed" has won after placing at
+     (currentRow, currentCol). Only the counts of the lines through that cell are checked */
+    public boolean hasWon(Seed theSeed, int currentRow, int currentCol) {
+        int[] counts = (theSeed == Seed.CROSS) ? crossCounts : noughtCounts;
+        for (int line : rules.linesThrough[currentRow * cols + currentCol]) {
+            if (counts[line] == rules.winLength) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Paint itself */
+    public void paint() {
+        for (int row = 0; row < rows; ++row) {
+            for (int col = 0; col < cols; ++col) {
+                System.out.print(" ");
+                cells[row][col].paint();   // each cell paints itself
+                System.out.print(" ");
+                if (col < cols - 1) System.out.print("|");  // column separator
+            }
+            System.out.println();
+            if (row < rows - 1) {
+                System.out.println("-".repeat(cols * 4 - 1));  // row separator
+            }
+        }
+        System.out.println();
+    }
+}
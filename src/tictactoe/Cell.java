@@ -1,3 +1,5 @@
+package tictactoe;
+
 /**
  * The Cell class models each individual cell of the TTT 3x3 grid.
  */
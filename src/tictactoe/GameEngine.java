@@ -0,0 +1,164 @@
+package tictactoe;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One game of the given rules: the board, the side to move, the state and the
+ * moves played, driven by the front ends through play() and newGame() and
+ * observed through Listeners. Each move is written once, onto the move stack
+ * of the Board, whose per-line counts tell the outcome from the lines through
+ * the move and its move counter tell a draw, without scanning the board.
+ * undo() and redo() step along that stack.
+ */
+public class GameEngine {
+    /** Observer of a game, called on the thread that drives the engine */
+    public interface Listener {
+        /** A new game started, CROSS to move */
+        default void gameStarted(GameEngine engine) {
+        }
+
+        /** The player placed its seed at (row, col) */
+        default void movePlayed(GameEngine engine, Seed player, int row, int col) {
+        }
+
+        /** The game ended with the given result, after movePlayed() */
+        default void gameOver(GameEngine engine, GameState result) {
+        }
+
+        /** The player's move at (row, col) was taken back, the player is to move again */
+        default void moveUndone(GameEngine engine, Seed player, int row, int col) {
+        }
+    }
+
+    private final Board board;
+    private final List<Listener> listeners = new ArrayList<>();
+    /** Cells (row * cols + col) of the moves played, filled from the board's move stack by getMoves() */
+    private final int[] moves;
+    private GameState state;
+    private Seed currentPlayer;
+
+    /** Constructor of an engine for the given rules, ready to play */
+    public GameEngine(Rules rules) {
+        board = new Board(rules);
+        moves = new int[rules.cellCount];
+        state = GameState.PLAYING;
+        currentPlayer = Seed.CROSS;
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /** Clear the board and start a new game, CROSS to move */
+    public void newGame() {
+        board.init();
+        state = GameState.PLAYING;
+        currentPlayer = Seed.CROSS;
+        for (Listener listener : listeners) listener.gameStarted(this);
+    }
+
+    /** Return true if the side to move may play at (row, col) */
+    public boolean isValidMove(int row, int col) {
+        return state == GameState.PLAYING && row >= 0 && row < board.rows && col >= 0 && col < board.cols
+                && board.cells[row][col].content == Seed.EMPTY;
+    }
+
+    /** Place the seed of the side to move at (row, col). Return the state of the game after the move */
+    public GameState play(int row, int col) {
+        if (state != GameState.PLAYING) {
+            throw new IllegalStateException("Game over");
+        }
+        if (!isValidMove(row, col)) {
+            throw new IllegalArgumentException("Invalid move " + row + " " + col);
+        }
+        board.makeMove(row * board.cols + col, currentPlayer);
+        return afterMove(currentPlayer, row, col);
+    }
+
+    /** Take back the last move, reopening a finished game. Return false if there is none */
+    public boolean undo() {
+        if (!board.canUndo()) return false;
+        Seed player = board.stackPlayer(board.stackSize() - 1);
+        int cell = board.unmakeMove();
+        state = GameState.PLAYING;
+        currentPlayer = player;
+        for (Listener listener : listeners) listener.moveUndone(this, player, cell / board.cols, cell % board.cols);
+        return true;
+    }
+
+    /** Play again the last move taken back by undo(). Return false if there is none */
+    public boolean redo() {
+        if (!board.canRedo()) return false;
+        Seed player = board.stackPlayer(board.stackSize());
+        int cell = board.redoMove();
+        afterMove(player, cell / board.cols, cell % board.cols);
+        return true;
+    }
+
+    public boolean canUndo() {
+        return board.canUndo();
+    }
+
+    public boolean canRedo() {
+        return board.canRedo();
+    }
+
+    /** Update the state after the player's move at (row, col) and tell the listeners */
+    private GameState afterMove(Seed player, int row, int col) {
+        state = stateAfter(board, player, row, col);
+        if (state == GameState.PLAYING) {
+            currentPlayer = (player == Seed.CROSS) ? Seed.NOUGHT : Seed.CROSS;
+        }
+        for (Listener listener : listeners) listener.movePlayed(this, player, row, col);
+        if (state != GameState.PLAYING) {
+            for (Listener listener : listeners) listener.gameOver(this, state);
+        }
+        return state;
+    }
+
+    /** Return the state of the game after the given player placed at (row, col) on the board.
+     Only the counts of the lines through the cell and the move counter are read */
+    public static GameState stateAfter(Board board, Seed player, int row, int col) {
+        if (board.hasWon(player, row, col)) {
+            return (player == Seed.CROSS) ? GameState.CROSS_WON : GameState.NOUGHT_WON;
+        }
+        return board.isDraw() ? GameState.DRAW : GameState.PLAYING;
+    }
+
+    /** Return the board, to be read only, e.g., by an AI player or a view */
+    public Board getBoard() {
+        return board;
+    }
+
+    public Rules getRules() {
+        return board.rules;
+    }
+
+    public GameState getState() {
+        return state;
+    }
+
+    /** Return the side to move, or the last mover once the game is over */
+    public Seed getCurrentPlayer() {
+        return currentPlayer;
+    }
+
+    public Seed contentOf(int row, int col) {
+        return board.cells[row][col].content;
+    }
+
+    public int getMoveCount() {
+        return board.moveCount;
+    }
+
+    /** Return the cells (row * cols + col) of the moves played, in order, the first getMoveCount() valid */
+    public int[] getMoves() {
+        for (int i = 0; i < board.stackSize(); ++i) moves[i] = board.stackMove(i);
+        return moves;
+    }
+}
@@ -0,0 +1,141 @@
+package tictactoe;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only binary log of finished games, one fixed-size record per game,
+ * read back by GameRecordReader. The file starts with a header naming the
+ * rules, so one file holds the games of one variant. A record is
+ * <pre>
+ *   result      1 byte, the GameState ordinal
+ *   move count  1 byte, or 2 bytes (little-endian) on boards of 256 cells or more
+ *   moves       one cell index (row * cols + col) of the same size per cell of
+ *               the board, in the order played from CROSS, the unused ones 0
+ * </pre>
+ * i.e., 11 bytes for 3x3. Records are gathered in a direct buffer and written
+ * through the FileChannel when it is full or on flush(). Reopening a log
+ * drops a partly written last record, e.g., after a crash.
+ */
+public class GameRecordLog implements Closeable {
+    /** "TTTLOG01" */
+    static final long MAGIC = 0x5454544C4F473031L;
+    /** Header: magic, rows, cols, winLength, record size, then reserved bytes */
+    static final int HEADER_BYTES = 32;
+    /** Size of the write buffer, rounded down to whole records */
+    private static final int BUFFER_BYTES = 64 << 10;
+
+    private final Rules rules;
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final int recordBytes;
+    private final boolean wideMoves;
+    private long records;
+
+    /** Open the log at path for the given rules, creating it if needed */
+    public GameRecordLog(Path path, Rules rules) throws IOException {
+        this.rules = rules;
+        this.recordBytes = recordBytes(rules);
+        this.wideMoves = isWide(rules);
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            if (channel.size() == 0) {
+                header.putLong(MAGIC).putInt(rules.rows).putInt(rules.cols).putInt(rules.winLength).putInt(recordBytes);
+                header.clear();
+                while (header.hasRemaining()) channel.write(header);
+            } else {
+                readHeader(channel, header, path);
+                if (header.getInt(8) != rules.rows || header.getInt(12) != rules.cols
+                        || header.getInt(16) != rules.winLength) {
+                    throw new IOException(path + " is a log of other rules");
+                }
+                records = (channel.size() - HEADER_BYTES) / recordBytes;
+                channel.truncate(HEADER_BYTES + records * recordBytes);  // a torn last record
+            }
+            channel.position(HEADER_BYTES + records * recordBytes);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        buffer = ByteBuffer.allocateDirect(Math.max(1, BUFFER_BYTES / recordBytes) * recordBytes)
+                .order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /** Return the file of the log of the given rules in the working directory, e.g., games-3x3-3.tttlog */
+    public static Path defaultPath(Rules rules) {
+        return Paths.get("games-" + rules.rows + "x" + rules.cols + "-" + rules.winLength + ".tttlog");
+    }
+
+    /** Return the size of a record under the given rules */
+    static int recordBytes(Rules rules) {
+        return 1 + (isWide(rules) ? 2 : 1) * (1 + rules.cellCount);
+    }
+
+    /** Return true if cells and move counts take 2 bytes */
+    static boolean isWide(Rules rules) {
+        return rules.cellCount >= 256;
+    }
+
+    /** Read and check the header of a log into the buffer */
+    static void readHeader(FileChannel channel, ByteBuffer header, Path path) throws IOException {
+        header.clear();
+        while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+            // until the header is full or the file ends
+        }
+        if (header.hasRemaining() || header.getLong(0) != MAGIC) {
+            throw new IOException(path + " is not a game log");
+        }
+    }
+
+    /** Add a game: its result and its moves, as cell indices in the order played from CROSS */
+    public synchronized void append(GameState result, int[] moves, int count) throws IOException {
+        if (count < 0 || count > rules.cellCount) {
+            throw new IllegalArgumentException("Invalid move count " + count);
+        }
+        if (buffer.remaining() < recordBytes) flush();
+        int start = buffer.position();
+        buffer.put((byte) result.ordinal());
+        if (wideMoves) {
+            buffer.putShort((short) count);
+            for (int i = 0; i < count; ++i) buffer.putShort((short) moves[i]);
+        } else {
+            buffer.put((byte) count);
+            for (int i = 0; i < count; ++i) buffer.put((byte) moves[i]);
+        }
+        while (buffer.position() < start + recordBytes) buffer.put((byte) 0);  // unused moves
+        records++;
+    }
+
+    /** Write the buffered records to the file */
+    public synchronized void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) channel.write(buffer);
+        buffer.clear();
+    }
+
+    /** Return the number of games in the log, buffered ones included */
+    public synchronized long size() {
+        return records;
+    }
+
+    public Rules getRules() {
+        return rules;
+    }
+
+    /** Flush and close the file */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
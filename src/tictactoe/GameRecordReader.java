@@ -0,0 +1,155 @@
+package tictactoe;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reader of a GameRecordLog. The file is memory-mapped, in chunks of up to
+ * 1 GB of whole records, so a scan reads at the speed of the page cache or
+ * the disk, without copies or allocation per record. Sees the records
+ * written up to its opening.
+ * <p>
+ * main() prints aggregates of a log: arguments [file], by default the log of 3x3.
+ */
+public class GameRecordReader implements Closeable {
+    /** Most bytes mapped by one chunk */
+    private static final int CHUNK_BYTES = 1 << 30;
+    private static final GameState[] STATES = GameState.values();
+
+    private final FileChannel channel;
+    private final Rules rules;
+    private final int recordBytes;
+    private final boolean wideMoves;
+    private final long records;
+    private final int recordsPerChunk;
+    private final MappedByteBuffer[] chunks;
+
+    /** Open the log at path and map its records */
+    public GameRecordReader(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(GameRecordLog.HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            GameRecordLog.readHeader(channel, header, path);
+            rules = new Rules(header.getInt(8), header.getInt(12), header.getInt(16));
+            recordBytes = header.getInt(20);
+            if (recordBytes != GameRecordLog.recordBytes(rules)) {
+                throw new IOException(path + " has records of " + recordBytes + " bytes, expected "
+                        + GameRecordLog.recordBytes(rules));
+            }
+            wideMoves = GameRecordLog.isWide(rules);
+            records = (channel.size() - GameRecordLog.HEADER_BYTES) / recordBytes;
+            recordsPerChunk = CHUNK_BYTES / recordBytes;
+            chunks = new MappedByteBuffer[(int) ((records + recordsPerChunk - 1) / recordsPerChunk)];
+            for (int i = 0; i < chunks.length; ++i) {
+                long first = (long) i * recordsPerChunk;
+                long count = Math.min(recordsPerChunk, records - first);
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        GameRecordLog.HEADER_BYTES + first * recordBytes, count * recordBytes);
+                chunks[i].order(ByteOrder.LITTLE_ENDIAN);
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public Rules getRules() {
+        return rules;
+    }
+
+    /** Return the number of games in the log */
+    public long size() {
+        return records;
+    }
+
+    public GameState resultOf(long game) {
+        return STATES[chunkOf(game).get(offsetOf(game))];
+    }
+
+    public int moveCountOf(long game) {
+        ByteBuffer chunk = chunkOf(game);
+        int offset = offsetOf(game) + 1;
+        return wideMoves ? chunk.getShort(offset) & 0xFFFF : chunk.get(offset) & 0xFF;
+    }
+
+    /** Return the cell (row * cols + col) of the game's move i, 0 for the first */
+    public int moveOf(long game, int i) {
+        ByteBuffer chunk = chunkOf(game);
+        return wideMoves ? chunk.getShort(offsetOf(game) + 1 + 2 * (1 + i)) & 0xFFFF
+                : chunk.get(offsetOf(game) + 1 + 1 + i) & 0xFF;
+    }
+
+    /** Replay the game on the board, cleared first, through its move stack, so
+     that the moves can be stepped back and forth with unmakeMove() and redoMove().
+     Return its result */
+    public GameState replay(long game, Board board) {
+        board.init();
+        Seed player = Seed.CROSS;
+        for (int i = 0, count = moveCountOf(game); i < count; ++i) {
+            board.makeMove(moveOf(game, i), player);
+            player = (player == Seed.CROSS) ? Seed.NOUGHT : Seed.CROSS;
+        }
+        return resultOf(game);
+    }
+
+    private MappedByteBuffer chunkOf(long game) {
+        if (game < 0 || game >= records) {
+            throw new IndexOutOfBoundsException("Game " + game + " of " + records);
+        }
+        return chunks[(int) (game / recordsPerChunk)];
+    }
+
+    private int offsetOf(long game) {
+        return (int) (game % recordsPerChunk) * recordBytes;
+    }
+
+    /** Unmaps when the chunks are garbage collected */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /** Print the results, the mean game length and the results by first move of a log */
+    public static void main(String[] args) throws IOException {
+        Path path = (args.length >= 1) ? Paths.get(args[0]) : GameRecordLog.defaultPath(Rules.STANDARD);
+        try (GameRecordReader reader = new GameRecordReader(path)) {
+            Rules rules = reader.getRules();
+            long start = System.nanoTime();
+            long[] results = new long[STATES.length];
+            long[][] byFirstMove = new long[rules.cellCount][STATES.length];
+            long moves = 0;
+            for (long game = 0; game < reader.size(); ++game) {
+                int result = reader.resultOf(game).ordinal();
+                int count = reader.moveCountOf(game);
+                results[result]++;
+                moves += count;
+                if (count > 0) byFirstMove[reader.moveOf(game, 0)][result]++;
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            long games = reader.size();
+            System.out.printf("%s: %s, %,d games scanned in %.2f s (%,.0f games/s, %,.0f MB/s)%n", path, rules,
+                    games, seconds, games / seconds, games * (double) reader.recordBytes / seconds / 1e6);
+            System.out.printf("X won %,d, O won %,d, draws %,d, unfinished %,d, mean length %.2f moves%n",
+                    results[GameState.CROSS_WON.ordinal()], results[GameState.NOUGHT_WON.ordinal()],
+                    results[GameState.DRAW.ordinal()], results[GameState.PLAYING.ordinal()],
+                    (games > 0) ? (double) moves / games : 0);
+            System.out.println("First move (row, col): games, X won %, O won %, draws %");
+            for (int cell = 0; cell < rules.cellCount; ++cell) {
+                long[] counts = byFirstMove[cell];
+                long total = counts[0] + counts[1] + counts[2] + counts[3];
+                if (total == 0) continue;
+                System.out.printf("  (%d, %d): %,d, %.1f, %.1f, %.1f%n", cell / rules.cols, cell % rules.cols, total,
+                        100.0 * counts[GameState.CROSS_WON.ordinal()] / total,
+                        100.0 * counts[GameState.NOUGHT_WON.ordinal()] / total,
+                        100.0 * counts[GameState.DRAW.ordinal()] / total);
+            }
+        }
+    }
+}
@@ -0,0 +1,454 @@
+package tictactoe;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * TCP server hosting many games at once, one per connection, each with its
+ * own Board. One thread runs an NIO selector loop for all the connections;
+ * the AI moves run on a bounded pool of worker threads, so a slow search never
+ * holds up the other sessions. The AI players, with their transposition tables
+ * and search buffers, belong to the workers rather than the sessions: a worker
+ * copies the session's board into its own and searches that, so the memory of
+ * the searches grows with the workers, not with the connections. A move is
+ * searched within a time budget, and a move that finds the pool's queue full
+ * is refused with ERR BUSY rather than queued without bound, which keeps the
+ * latency of the accepted moves predictable.
+ * <p>
+ * Line protocol, one command or reply per line:
+ * <pre>
+ *   NEW [rows cols winLength] [X|O] [minimax|mcts]  -> OK rows cols winLength X|O
+ *                                                      (then AI row col state, if the AI plays first)
+ *                                                   -> ERR BUSY, no game started, if the AI plays first
+ *   MOVE row col    -> AI row col state   the AI's answer, state is PLAYING, DRAW, CROSS_WON or NOUGHT_WON
+ *                   -> END state          if the move ended the game
+ *   BOARD           -> BOARD cells        the cells row by row, as . X or O
+ *   QUIT            -> BYE
+ *   anything wrong  -> ERR message
+ * </pre>
+ * Commands sent while the AI is thinking are run, in order, after its reply.
+ * Arguments (all optional): port workers moveMillis queueCapacity
+ */
+public class GameServer {
+    public static final int DEFAULT_PORT = 7777;
+    /** Longest command line accepted */
+    private static final int MAX_LINE = 256;
+    /** Largest board side accepted by NEW */
+    private static final int MAX_SIDE = 19;
+    /** Memory cap of the transposition table of each worker's minimax player */
+    private static final long TABLE_BYTES = 64L << 10;  // 64 KB
+    /** Variants whose Rules and cache of exact results are kept, the least recently used are dropped beyond */
+    private static final int MAX_VARIANTS = 8;
+    /** Entries of the cache of exact results of each variant kept */
+    private static final int SOLVED_ENTRIES = 1 << 16;  // about 1.2 MB
+
+    private final int port;
+    private final int moveMillis;
+    private final ThreadPoolExecutor workers;
+    /** AI moves done by the workers, to be sent by the selector thread */
+    private final ConcurrentLinkedQueue<Session> finished = new ConcurrentLinkedQueue<>();
+    /** Rules are immutable, so sessions playing the same variant share one instance */
+    private final Map<String, Rules> rulesCache = lruMap(MAX_VARIANTS);
+    /** Exact results shared by the minimax players of the workers, per variant, instead of
+     SolvedCache.shared(), which would keep a cache for every variant ever played */
+    private final Map<Rules, SolvedCache> solvedCaches = lruMap(MAX_VARIANTS);
+    private final AtomicInteger sessionCount = new AtomicInteger();
+    private final ThreadLocal<Searchers> searchers = ThreadLocal.withInitial(Searchers::new);
+    private Selector selector;
+    private volatile boolean running = true;
+
+    /** Constructor with the port to listen on, the number of AI worker threads,
+     the time budget of an AI move, and the number of AI moves that may wait for a worker */
+    public GameServer(int port, int workerCount, int moveMillis, int queueCapacity) {
+        this.port = port;
+        this.moveMillis = moveMillis;
+        AtomicInteger threadNumber = new AtomicInteger();
+        workers = new ThreadPoolExecutor(workerCount, workerCount, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "AI worker " + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /** The state of one connection: its game and its pending output */
+    private final class Session {
+        final SocketChannel channel;
+        final SelectionKey key;
+        final ByteBuffer input = ByteBuffer.allocate(MAX_LINE);
+        final ArrayDeque<ByteBuffer> output = new ArrayDeque<>();
+        Board board;
+        String aiName = "minimax";
+        Seed humanSeed = Seed.CROSS;
+        GameState state = GameState.PLAYING;
+        /** True while a worker is searching the AI's move; the board belongs to the worker meanwhile */
+        boolean thinking;
+        /** Set when the connection closes, also stops a running search */
+        volatile boolean closed;
+        int aiRow, aiCol;  // the AI's move, handed from the worker to the selector thread
+
+        Session(SocketChannel channel, SelectionKey key) {
+            this.channel = channel;
+            this.key = key;
+        }
+
+        Seed aiSeed() {
+            return (humanSeed == Seed.CROSS) ? Seed.NOUGHT : Seed.CROSS;
+        }
+    }
+
+    /** The AI players of one worker thread, one of each kind, made for the rules of the last game it searched */
+    private final class Searchers {
+        final Board[] boards = new Board[2];  // minimax, mcts
+        final AIPlayer[] players = new AIPlayer[2];
+        /** The session being searched, for the cancel check */
+        volatile Session session;
+
+        /** Return the AI's move in the session's game, searched on this worker's board */
+        int[] move(Session session) {
+            int kind = session.aiName.equals("mcts") ? 1 : 0;
+            Rules rules = session.board.rules;
+            if (boards[kind] == null || boards[kind].rules != rules) {
+                boards[kind] = new Board(rules);
+                players[kind] = newAI(session.aiName, boards[kind]);
+                players[kind].setCancelCheck(() -> this.session.closed || !running);
+            }
+            this.session = session;
+            boards[kind].copyFrom(session.board);
+            players[kind].setSeed(session.aiSeed());
+            int[] move = players[kind].move();
+            this.session = null;  // do not keep a closed session alive
+            return move;
+        }
+    }
+
+    /** Return a synchronized map that keeps its most recently used entries, at most maxSize */
+    private static <K, V> Map<K, V> lruMap(int maxSize) {
+        return Collections.synchronizedMap(new LinkedHashMap<K, V>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    /** Accept connections and serve them until stop() is called */
+    public void run() throws IOException {
+        selector = Selector.open();
+        try (ServerSocketChannel server = ServerSocketChannel.open()) {
+            server.bind(new InetSocketAddress(port), 1024);
+            server.configureBlocking(false);
+            server.register(selector, SelectionKey.OP_ACCEPT);
+            System.out.println("Game server listening on port " + port + " with " + workers.getMaximumPoolSize()
+                    + " AI workers, " + moveMillis + " ms per move");
+            while (running) {
+                selector.select();
+                Session done;
+                while ((done = finished.poll()) != null) {
+                    finishAIMove(done);
+                }
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) continue;
+                    if (key.isAcceptable()) {
+                        accept(server);
+                        continue;
+                    }
+                    Session session = (Session) key.attachment();
+                    try {
+                        if (key.isReadable()) read(session);
+                        if (key.isValid() && key.isWritable()) flush(session);
+                    } catch (IOException e) {
+                        close(session);  // the client went away
+                    }
+                }
+            }
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                if (key.attachment() instanceof Session) close((Session) key.attachment());
+            }
+            selector.close();
+            workers.shutdownNow();
+        }
+    }
+
+    /** Stop the server, from any thread */
+    public void stop() {
+        running = false;
+        if (selector != null) selector.wakeup();
+    }
+
+    /** Return the number of open sessions */
+    public int getSessionCount() {
+        return sessionCount.get();
+    }
+
+    private void accept(ServerSocketChannel server) throws IOException {
+        SocketChannel channel;
+        while ((channel = server.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);  // replies are single short lines
+            SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+            key.attach(new Session(channel, key));
+            sessionCount.incrementAndGet();
+        }
+    }
+
+    /** Read what the client sent and run the complete lines */
+    private void read(Session session) throws IOException {
+        if (session.channel.read(session.input) < 0) {
+            close(session);
+            return;
+        }
+        runCommands(session);
+    }
+
+    /** Run the complete lines of the input in order. Commands sent while the
+     AI is thinking wait in the input; once it is full, reading pauses */
+    private void runCommands(Session session) {
+        ByteBuffer input = session.input;
+        input.flip();
+        int start = input.position();
+        for (int i = start; i < input.limit() && !session.thinking && !session.closed; ++i) {
+            if (input.get(i) == '\n') {
+                String line = new String(input.array(), start, i - start, StandardCharsets.US_ASCII).trim();
+                start = i + 1;
+                if (!line.isEmpty()) handle(session, line);
+            }
+        }
+        if (session.closed) return;
+        input.position(start);
+        input.compact();
+        if (!input.hasRemaining() && !session.thinking) {  // no end of line in MAX_LINE bytes
+            send(session, "ERR line too long");
+            close(session);
+            return;
+        }
+        updateInterest(session);
+    }
+
+    /** Run one command of the client */
+    private void handle(Session session, String line) {
+        String[] words = line.split("\\s+");
+        String command = words[0].toUpperCase();
+        if (command.equals("QUIT")) {
+            send(session, "BYE");
+            close(session);
+        } else if (command.equals("NEW")) {
+            newGame(session, words);
+        } else if (command.equals("MOVE")) {
+            move(session, words);
+        } else if (command.equals("BOARD")) {
+            send(session, "BOARD " + cellsOf(session.board));
+        } else {
+            send(session, "ERR unknown command " + words[0]);
+        }
+    }
+
+    /** NEW [rows cols winLength] [X|O] [minimax|mcts]: start a game, reusing the session's board if possible */
+    private void newGame(Session session, String[] words) {
+        int rows = 3, cols = 3, winLength = 3;
+        int next = 1;
+        Seed humanSeed = Seed.CROSS;
+        String aiName = "minimax";
+        try {
+            if (words.length >= 4 && Character.isDigit(words[1].charAt(0))) {
+                rows = Integer.parseInt(words[1]);
+                cols = Integer.parseInt(words[2]);
+                winLength = Integer.parseInt(words[3]);
+                next = 4;
+            }
+            for (; next < words.length; ++next) {
+                String word = words[next].toLowerCase();
+                if (word.equals("x") || word.equals("o")) humanSeed = word.equals("x") ? Seed.CROSS : Seed.NOUGHT;
+                else if (word.equals("minimax") || word.equals("mcts")) aiName = word;
+                else throw new IllegalArgumentException("Unknown option " + words[next]);
+            }
+            if (rows > MAX_SIDE || cols > MAX_SIDE) {
+                throw new IllegalArgumentException("Board sides are at most " + MAX_SIDE);
+            }
+            int r = rows, c = cols, k = winLength;
+            Rules rules = rulesCache.computeIfAbsent(r + " " + c + " " + k, spec -> new Rules(r, c, k));
+            if (session.board == null || session.board.rules != rules) {
+                session.board = new Board(rules);
+            }
+            session.aiName = aiName;
+        } catch (IllegalArgumentException e) {  // NumberFormatException included
+            send(session, "ERR " + e.getMessage());
+            return;
+        }
+        session.board.init();
+        session.humanSeed = humanSeed;
+        session.state = GameState.PLAYING;
+        if (humanSeed == Seed.NOUGHT && !startAIMove(session)) {
+            session.board = null;  // no game in progress, the client may send NEW again
+            send(session, "ERR BUSY");
+            return;
+        }
+        send(session, "OK " + rows + " " + cols + " " + winLength + " " + (humanSeed == Seed.CROSS ? "X" : "O"));
+    }
+
+    /** Return a new AI player of the given name on the given board */
+    private AIPlayer newAI(String name, Board board) {
+        if (name.equals("mcts")) {
+            AIPlayerMcts mcts = new AIPlayerMcts(board);
+            mcts.setTimeBudget(moveMillis);
+            return mcts;
+        }
+        SolvedCache solved = (SolvedCache.DEFAULT_ENTRIES > 0)
+                ? solvedCaches.computeIfAbsent(board.rules,
+                        rules -> new SolvedCache(Math.min(SolvedCache.DEFAULT_ENTRIES, SOLVED_ENTRIES)))
+                : null;
+        AIPlayerMinimax minimax = new AIPlayerMinimax(board, TABLE_BYTES, solved);
+        minimax.setTimeBudget(moveMillis);
+        return minimax;
+    }
+
+    /** MOVE row col: play the client's move, then let the AI answer */
+    private void move(Session session, String[] words) {
+        if (session.board == null || session.state != GameState.PLAYING) {
+            send(session, "ERR no game in progress, send NEW");
+            return;
+        }
+        Board board = session.board;
+        int row, col;
+        try {
+            row = Integer.parseInt(words[1]);
+            col = Integer.parseInt(words[2]);
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            send(session, "ERR usage: MOVE row col");
+            return;
+        }
+        if (row < 0 || row >= board.rows || col < 0 || col >= board.cols
+                || board.cells[row][col].content != Seed.EMPTY) {
+            send(session, "ERR invalid move " + row + " " + col);
+            return;
+        }
+        board.makeMove(row * board.cols + col, session.humanSeed);
+        session.state = GameEngine.stateAfter(board, session.humanSeed, row, col);
+        if (session.state != GameState.PLAYING) {
+            send(session, "END " + session.state);
+        } else if (!startAIMove(session)) {
+            board.unmakeMove();  // not played, the client may try again
+            send(session, "ERR BUSY");
+        }
+    }
+
+    /** Hand the AI's move to the worker pool. Return false if its queue is full */
+    private boolean startAIMove(Session session) {
+        session.thinking = true;
+        try {
+            workers.execute(() -> {
+                int[] move = session.closed ? null : searchers.get().move(session);
+                session.aiRow = (move != null) ? move[0] : -1;
+                session.aiCol = (move != null) ? move[1] : -1;
+                finished.add(session);
+                selector.wakeup();
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            session.thinking = false;
+            return false;
+        }
+    }
+
+    /** Play and send the AI's move found by a worker, on the selector thread */
+    private void finishAIMove(Session session) {
+        session.thinking = false;
+        if (session.closed) return;
+        int row = session.aiRow, col = session.aiCol;
+        if (row < 0) {  // no move found, only possible on a full board
+            session.state = GameState.DRAW;
+            send(session, "END " + session.state);
+        } else {
+            Seed aiSeed = session.aiSeed();
+            session.board.makeMove(row * session.board.cols + col, aiSeed);
+            session.state = GameEngine.stateAfter(session.board, aiSeed, row, col);
+            send(session, "AI " + row + " " + col + " " + session.state);
+        }
+        runCommands(session);  // those that came in meanwhile
+    }
+
+    /** Return the cells of the board row by row as . X or O, or "-" without a game */
+    private static String cellsOf(Board board) {
+        if (board == null) return "-";
+        StringBuilder cells = new StringBuilder(board.rows * board.cols);
+        for (int row = 0; row < board.rows; ++row) {
+            for (int col = 0; col < board.cols; ++col) {
+                Seed content = board.cells[row][col].content;
+                cells.append(content == Seed.CROSS ? 'X' : content == Seed.NOUGHT ? 'O' : '.');
+            }
+        }
+        return cells.toString();
+    }
+
+    /** Queue a reply line and write out as much as the socket takes */
+    private void send(Session session, String line) {
+        if (session.closed) return;
+        session.output.add(ByteBuffer.wrap((line + "\n").getBytes(StandardCharsets.US_ASCII)));
+        try {
+            flush(session);
+        } catch (IOException e) {
+            close(session);
+        }
+    }
+
+    /** Write the pending output; wait for OP_WRITE if the socket is full */
+    private void flush(Session session) throws IOException {
+        while (!session.output.isEmpty()) {
+            ByteBuffer buffer = session.output.peek();
+            session.channel.write(buffer);
+            if (buffer.hasRemaining()) break;
+            session.output.poll();
+        }
+        updateInterest(session);
+    }
+
+    /** Wait for input unless it is full, and for room in the socket while output is pending */
+    private void updateInterest(Session session) {
+        if (!session.key.isValid()) return;
+        int ops = (session.input.hasRemaining() ? SelectionKey.OP_READ : 0)
+                | (session.output.isEmpty() ? 0 : SelectionKey.OP_WRITE);
+        if (session.key.interestOps() != ops) session.key.interestOps(ops);
+    }
+
+    private void close(Session session) {
+        if (session.closed) return;
+        session.closed = true;  // also cancels a running search
+        session.key.cancel();
+        try {
+            session.channel.close();
+        } catch (IOException e) {
+            // closing anyway
+        }
+        sessionCount.decrementAndGet();
+    }
+
+    /** Run the server with the optional arguments: port workers moveMillis queueCapacity */
+    public static void main(String[] args) throws IOException {
+        int port = (args.length >= 1) ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int workers = (args.length >= 2) ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int moveMillis = (args.length >= 3) ? Integer.parseInt(args[2]) : 50;
+        int queueCapacity = (args.length >= 4) ? Integer.parseInt(args[3]) : 4096;
+        new GameServer(port, workers, moveMillis, queueCapacity).run();
+    }
+}
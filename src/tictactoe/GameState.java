@@ -1,3 +1,5 @@
+package tictactoe;
+
 public enum GameState {
     PLAYING, DRAW, CROSS_WON, NOUGHT_WON
 }
\ No newline at end of file
@@ -0,0 +1,172 @@
+package tictactoe;
+
+import javax.sound.sampled.*;
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * AudioBackend of javax.sound. All requests run in order on one daemon audio
+ * thread, which also decodes the clips, once per file, on first use or
+ * preload(). The music is streamed through a SourceDataLine by its own
+ * thread instead of being held in a Clip. A missing file falls back to the
+ * music file, bg-music.wav.
+ */
+class JavaSoundBackend implements AudioBackend {
+    /** Bytes read from the music file per write to the line */
+    private static final int STREAM_BUFFER_BYTES = 16 << 10;
+    private static final String DEFAULT_SOUND = "bg-music.wav";
+
+    private final File soundsDir;
+    private final ExecutorService audioThread = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "audio");
+        thread.setDaemon(true);  // never keeps the JVM alive
+        return thread;
+    });
+    /** Clips by file, null for a file that cannot be played. Used by the audio thread only */
+    private final Map<File, Clip> clips = new HashMap<>();
+    /** Music playing, used by the audio thread only */
+    private MusicStream music;
+
+    JavaSoundBackend(File soundsDir) {
+        this.soundsDir = soundsDir.getAbsoluteFile();
+    }
+
+    /** Return true if the system can open clips and source lines */
+    static boolean isAvailable() {
+        return AudioSystem.isLineSupported(new Line.Info(Clip.class))
+                && AudioSystem.isLineSupported(new Line.Info(SourceDataLine.class));
+    }
+
+    @Override
+    public void preload(String... sounds) {
+        audioThread.execute(() -> {
+            for (String sound : sounds) clipOf(sound);
+        });
+    }
+
+    @Override
+    public void playClip(String sound) {
+        audioThread.execute(() -> {
+            Clip clip = clipOf(sound);
+            if (clip != null) {
+                clip.stop();
+                clip.setMicrosecondPosition(0);
+                clip.start();
+            }
+        });
+    }
+
+    @Override
+    public void stopClips() {
+        audioThread.execute(() -> {
+            for (Clip clip : clips.values()) {
+                if (clip != null) clip.stop();
+            }
+        });
+    }
+
+    @Override
+    public void playMusic(String sound) {
+        audioThread.execute(() -> {
+            haltMusic();
+            File file = fileOf(sound);
+            if (file != null) {
+                music = new MusicStream(file);
+                music.start();
+            }
+        });
+    }
+
+    @Override
+    public void stopMusic() {
+        audioThread.execute(this::haltMusic);
+    }
+
+    private void haltMusic() {
+        if (music != null) {
+            music.halt();
+            music = null;
+        }
+    }
+
+    /** Return the file of the sound, or the default one if it is missing, or null if both are */
+    private File fileOf(String sound) {
+        File file = new File(soundsDir, sound);
+        if (file.exists()) return file;
+        File fallback = new File(soundsDir, DEFAULT_SOUND);
+        return fallback.exists() ? fallback : null;
+    }
+
+    /** Return the clip of the sound, decoding it the first time. Return null if it cannot be played */
+    private Clip clipOf(String sound) {
+        File file = fileOf(sound);
+        if (file == null) return null;
+        if (clips.containsKey(file)) return clips.get(file);
+        Clip clip = null;
+        try (AudioInputStream stream = AudioSystem.getAudioInputStream(file)) {
+            clip = AudioSystem.getClip();
+            clip.open(stream);
+        } catch (UnsupportedAudioFileException | IOException | LineUnavailableException | IllegalArgumentException e) {
+            System.out.println("Error loading sound file " + file.getName() + ": " + e.getMessage());
+            clip = null;
+        }
+        clips.put(file, clip);
+        return clip;
+    }
+
+    /** Thread streaming a file to a SourceDataLine in a loop until halted */
+    private static class MusicStream extends Thread {
+        private final File file;
+        private volatile boolean halted;
+        private volatile SourceDataLine line;
+
+        MusicStream(File file) {
+            super("background-music");
+            this.file = file;
+            setDaemon(true);
+        }
+
+        void halt() {
+            halted = true;
+            SourceDataLine current = line;
+            if (current != null) {
+                current.stop();
+                current.flush();  // unblocks a pending write
+            }
+        }
+
+        @Override
+        public void run() {
+            byte[] buffer = new byte[STREAM_BUFFER_BYTES];
+            try {
+                while (!halted) {  // one pass over the file per iteration
+                    try (AudioInputStream stream = AudioSystem.getAudioInputStream(
+                            new BufferedInputStream(new FileInputStream(file)))) {
+                        if (line == null) {
+                            SourceDataLine opened = AudioSystem.getSourceDataLine(stream.getFormat());
+                            opened.open(stream.getFormat());
+                            opened.start();
+                            line = opened;
+                            if (halted) break;
+                        }
+                        int read;
+                        while (!halted && (read = stream.read(buffer, 0, buffer.length)) > 0) {
+                            line.write(buffer, 0, read);
+                        }
+                    }
+                }
+            } catch (UnsupportedAudioFileException | IOException | LineUnavailableException
+                     | IllegalArgumentException e) {
+                System.out.println("Error playing background music: " + e.getMessage());
+            } finally {
+                if (line != null) line.close();
+            }
+        }
+    }
+}
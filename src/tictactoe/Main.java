@@ -1,3 +1,6 @@
+package tictactoe;
+
+import java.io.IOException;
 import java.util.Scanner;
 
 
@@ -11,21 +14,36 @@ import java.util.Scanner;
  */
 
 public class Main {
-    private Board board;            // the game board
-    private GameState currentState; // the current state of the game
-    private Seed currentPlayer;     // the current player
+    private GameEngine engine;      // the game: board, side to move and state
+    private Board board;            // the engine's board, painted and searched by the AI
     private AIPlayer aiPlayer;      // AI player
     private boolean isAIMode;       // true if playing against AI
     private static Scanner in = new Scanner(System.in);
+    private static final int AI_TIME_BUDGET_MS = 1000;  // AI thinking time per move
     private SoundEffect soundEffect; // Sound effects manager
+    private GameRecordLog gameLog;   // log of the finished games, null if it cannot be written
 
     // Score tracking
     private int crossScore = 0;
     private int noughtScore = 0;
 
-    /** Constructor to setup the game */
-    public Main() {
-        board = new Board();  // allocate game board
+    /** Constructor to setup the game with the given rules */
+    public Main(Rules rules) {
+        engine = new GameEngine(rules);  // allocate game board
+        board = engine.getBoard();
+
+        // Finished games are appended to the log of these rules
+        try {
+            gameLog = new GameRecordLog(GameRecordLog.defaultPath(rules), rules);
+        } catch (IOException e) {
+            System.out.println("Error opening game log: " + e.getMessage());
+        }
+        engine.addListener(new GameEngine.Listener() {
+            @Override
+            public void gameOver(GameEngine engine, GameState result) {
+                logGame(result);
+            }
+        });
 
         // Ask for game mode
         System.out.println("Choose game mode:");
@@ -35,7 +53,10 @@ public class Main {
 
         isAIMode = (choice == 2);
         if (isAIMode) {
-            aiPlayer = new AIPlayerMinimax(board);
+            AIPlayerMinimax minimaxPlayer = new AIPlayerMinimax(board);
+            minimaxPlayer.setTimeBudget(AI_TIME_BUDGET_MS);  // search as deep as the time allows
+            minimaxPlayer.setTablebase(Tablebase.openDefault(rules));  // exact play near the end, if generated
+            aiPlayer = minimaxPlayer;
             aiPlayer.setSeed(Seed.NOUGHT);  // AI plays O
         }
 
@@ -51,27 +72,26 @@ public class Main {
         soundEffect.stopAllSounds();
         soundEffect.playBackgroundMusic();
 
-        board.init();  // clear the board contents
-        currentPlayer = Seed.CROSS;       // CROSS plays first
-        currentState = GameState.PLAYING; // ready to play
+        engine.newGame();  // clear the board contents, CROSS plays first
     }
 
-    /** Update the currentState after the player with "theSeed" has moved */
-    public void updateGame(Seed theSeed) {
-        if (board.hasWon(theSeed)) {  // check for win
-            currentState = (theSeed == Seed.CROSS) ? GameState.CROSS_WON : GameState.NOUGHT_WON;
-        } else if (board.isDraw()) {  // check for draw
-            currentState = GameState.DRAW;
+    /** Append the finished game to the game log, if it could be opened */
+    private void logGame(GameState result) {
+        if (gameLog == null) return;
+        try {
+            gameLog.append(result, engine.getMoves(), engine.getMoveCount());
+            gameLog.flush();
+        } catch (IOException e) {
+            System.out.println("Error writing game log: " + e.getMessage());
         }
-        // Otherwise, no change to current state (still GameState.PLAYING).
     }
 
     /** The main game-loop */
     public void gameLoop() {
         do {
             board.paint();  // display board
-            playerMove(currentPlayer); // update the content
-            updateGame(currentPlayer); // update currentState
+            playerMove(engine.getCurrentPlayer()); // update the content and the state
+            GameState currentState = engine.getState();
 
             // Print message if game over
             if (currentState == GameState.CROSS_WON) {
@@ -121,10 +141,14 @@ public class Main {
                 System.out.println("Thanks for playing! Bye!");
                 break;
             }
-
-            // Switch player
-            currentPlayer = (currentPlayer == Seed.CROSS) ? Seed.NOUGHT : Seed.CROSS;
-        } while (currentState == GameState.PLAYING);  // repeat until game over
+        } while (engine.getState() == GameState.PLAYING);  // repeat until game over
+        if (gameLog != null) {
+            try {
+                gameLog.close();
+            } catch (IOException e) {
+                System.out.println("Error closing game log: " + e.getMessage());
+            }
+        }
     }
 
     /** Player move */
@@ -134,19 +158,19 @@ public class Main {
             if (isAIMode && theSeed == Seed.NOUGHT) {
                 // AI's turn
                 int[] move = aiPlayer.move();
-                if (move != null && board.cells[move[0]][move[1]].content == Seed.EMPTY) {
-                    board.cells[move[0]][move[1]].content = theSeed;
+                if (move != null && engine.isValidMove(move[0], move[1])) {
+                    engine.play(move[0], move[1]);
                     System.out.println("Computer chose: row " + (move[0] + 1) + " column " + (move[1] + 1));
                     validInput = true;
                 }
             } else {
                 // Human's turn
-                System.out.print("Player '" + theSeed + "', enter your move (row[1-3] column[1-3]): ");
+                System.out.print("Player '" + theSeed + "', enter your move (row[1-" + board.rows
+                        + "] column[1-" + board.cols + "]): ");
                 int row = in.nextInt() - 1;
                 int col = in.nextInt() - 1;
-                if (row >= 0 && row < Board.ROWS && col >= 0 && col < Board.COLS
-                        && board.cells[row][col].content == Seed.EMPTY) {
-                    board.cells[row][col].content = theSeed;
+                if (engine.isValidMove(row, col)) {
+                    engine.play(row, col);
                     validInput = true;
                 } else {
                     System.out.println("This move at (" + (row + 1) + "," + (col + 1)
@@ -171,8 +195,8 @@ public class Main {
         return (response == 'y' || response == 'Y');
     }
 
-    /** The entry main() method */
+    /** The entry main() method. Optional arguments: rows cols winLength */
     public static void main(String[] args) {
-        new Main().gameLoop();  // start the game
+        new Main(Rules.fromArgs(args)).gameLoop();  // start the game
     }
 }
\ No newline at end of file
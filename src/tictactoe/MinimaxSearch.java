@@ -0,0 +1,623 @@
+package tictactoe;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+/**
+ * The search behind AIPlayerMinimax: minimax with alpha-beta cut-off and a
+ * transposition table, run on a private copy of the game board. Moves are cell
+ * indices kept in per-ply buffers, so a serial search allocates nothing.
+ * <p>
+ * Given a ForkJoinPool, the search splits Young Brothers Wait style: at a node
+ * with enough depth left, the first move is searched alone, then the other
+ * moves are searched in parallel, each by a searcher of its own on its own
+ * board copy. The moves of a split node share its alpha-beta bounds, and a
+ * cut-off there stops all of them. The root is split in the same way.
+ * <p>
+ * iterate() deepens the search one ply at a time until a deadline, and keeps
+ * the result of the last iteration that completed. Each iteration tries the
+ * best line of the previous one first.
+ * <p>
+ * Moves are ordered as set by MoveOrdering. The dynamic order keeps two killer
+ * moves per ply (recent moves that caused a cut-off at that ply) and a
+ * history score per side and cell, raised by depth^2 on every cut-off. The
+ * remaining moves are picked best-first, one at a time, so a cut-off saves
+ * the sorting of the rest.
+ * <p>
+ * Nodes with a few plies left to search that the transposition table does not
+ * answer are looked up in the SolvedCache shared by all the players of the
+ * variant, and their exact results stored there, so a position another game
+ * has searched as deep is not searched again.
+ * <p>
+ * With a tablebase, a won or lost game is scored by the ply at which it ends,
+ * counted from the root, whether the search reached the end or the tablebase
+ * told it: +/-(tablebaseWin - ply). The tables store such scores counted from
+ * their own node instead, as the same position comes up at other plies.
+ */
+class MinimaxSearch {
+    /** Deepest search supported */
+    static final int MAX_DEPTH = 64;
+    /** Depth stored for positions whose game is over, their score holds at any depth */
+    private static final int TERMINAL_DEPTH = 255;
+    /** Least depth left for a node to be looked up in and stored to the SolvedCache */
+    private static final int SOLVED_MIN_DEPTH = 2;
+    /** Multiplied by the tablebase's maxEmpty + 1 and XOR-ed into the SolvedCache keys of searches
+     scored with a tablebase, whose scores are on another scale and depend on the positions it covers */
+    private static final long TABLEBASE_KEY = 0x3C6EF372FE94F82BL;
+    /** Multiplied by the depth searched and XOR-ed into the SolvedCache keys */
+    private static final long DEPTH_KEY = 0xA54FF53A5F1D36F1L;
+
+    // Move ordering scores: first move, killers, then history * 256 + static weight
+    private static final int FIRST_SCORE = 1 << 30;
+    private static final int KILLER_SCORE = 1 << 29;
+    private static final int HISTORY_MAX = 1 << 20;  // history scores are halved beyond this
+
+    /** State shared by all searchers working for one AI player */
+    static final class Shared {
+        final Rules rules;
+        /** Search results keyed by the Zobrist hash of the canonical position,
+         so that all symmetric positions share one entry */
+        final TranspositionTable table;
+        /** Idle searchers, reused by the parallel search */
+        final ConcurrentLinkedQueue<MinimaxSearch> spares = new ConcurrentLinkedQueue<>();
+        Seed mySeed, oppSeed;
+        ForkJoinPool pool;   // null for a serial search
+        int splitDepth = 3;  // least depth left for a node to be split
+        MoveOrdering ordering = MoveOrdering.DYNAMIC;
+        /** Static weight of each cell: the number of winning lines through it */
+        final int[] staticWeights;
+        /** Nodes visited by the spare searchers of a parallel search */
+        final LongAdder taskNodes = new LongAdder();
+        /** Nodes expanded and cut off by the spare searchers of a parallel search */
+        final LongAdder taskExpanded = new LongAdder(), taskCutoffs = new LongAdder();
+        /** System.nanoTime() at which the search must stop, if timed */
+        long deadline;
+        boolean timed;
+        /** Set once the deadline has passed or the search is cancelled, stops every searcher */
+        volatile boolean timeUp;
+        /** Polled with the clock, the search stops once it returns true */
+        BooleanSupplier cancelCheck = () -> false;
+        /** Exact results of the positions near the end of the game, or null */
+        Tablebase tablebase;
+        /** Score of a win at the root with a tablebase; a win at the given ply scores tablebaseWin - ply,
+         above any heuristic score, so faster wins score higher */
+        final int tablebaseWin;
+        /** Exact results shared with the players of other games, or null */
+        SolvedCache solved;
+
+        Shared(Rules rules, TranspositionTable table) {
+            this.rules = rules;
+            this.table = table;
+            // evaluate() is at most every line at its highest value; lineScore is an int, so is its bound
+            long maxHeuristic = (long) rules.lines.length * rules.lineValues[rules.winLength][0];
+            tablebaseWin = (int) Math.min(maxHeuristic + rules.cellCount + 1, Integer.MAX_VALUE - 1);
+            staticWeights = new int[rules.cellCount];
+            for (int cell = 0; cell < rules.cellCount; ++cell) {
+                staticWeights[cell] = Math.min(rules.linesThrough[cell].length, 255);
+            }
+        }
+    }
+
+    /** A node whose moves are being searched in parallel */
+    private static final class SplitNode {
+        final SplitNode parent;      // enclosing split node, or null
+        final Board position;        // board of the searcher that split, left untouched meanwhile
+        final boolean maximizing;
+        final int ply;
+        volatile int alpha, beta;    // window shared by the moves of this node
+        volatile boolean cutoff;     // set once alpha >= beta
+        int bestMove = -1;
+        final int[] pv;              // best line found from this node
+        int pvLength;
+
+        SplitNode(SplitNode parent, Board position, boolean maximizing, int ply, int alpha, int beta) {
+            this.parent = parent;
+            this.position = position;
+            this.maximizing = maximizing;
+            this.ply = ply;
+            this.alpha = alpha;
+            this.beta = beta;
+            this.pv = new int[MAX_DEPTH + 1];
+        }
+
+        /** Return true if this node or one enclosing it has been cut off */
+        boolean isStopped() {
+            for (SplitNode node = this; node != null; node = node.parent) {
+                if (node.cutoff) return true;
+            }
+            return false;
+        }
+
+        /** Record the score of a move, searched with the line from the next ply in the searcher */
+        synchronized void update(int move, int score, MinimaxSearch searcher) {
+            if (maximizing ? score > alpha : score < beta) {
+                if (maximizing) {
+                    alpha = score;
+                } else {
+                    beta = score;
+                }
+                bestMove = move;
+                pv[0] = move;
+                System.arraycopy(searcher.pv[ply + 1], 0, pv, 1, searcher.pvLength[ply + 1]);
+                pvLength = searcher.pvLength[ply + 1] + 1;
+                if (alpha >= beta) {
+                    cutoff = true;
+                }
+            }
+        }
+    }
+
+    /** Searches one move of a split node with a spare searcher */
+    private static final class MoveTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final SplitNode node;
+        private final MinimaxSearch parent;
+        private final int move;
+        private final int depth;
+        private final Seed player;
+
+        MoveTask(SplitNode node, MinimaxSearch parent, int move, int depth, Seed player) {
+            this.node = node;
+            this.parent = parent;
+            this.move = move;
+            this.depth = depth;
+            this.player = player;
+        }
+
+        @Override
+        protected void compute() {
+            if (node.isStopped()) return;
+            MinimaxSearch searcher = parent.acquire();
+            long nodesBefore = searcher.nodes;
+            long expandedBefore = searcher.expanded;
+            long cutoffsBefore = searcher.cutoffs;
+            try {
+                searcher.splitNode = node;
+                searcher.board.copyFrom(node.position);
+                searcher.board.makeMove(move, player);
+                Seed other = (player == parent.shared.mySeed) ? parent.shared.oppSeed : parent.shared.mySeed;
+                int score = searcher.minimax(depth - 1, node.ply + 1, other, node.alpha, node.beta, move);
+                if (!node.isStopped()) {
+                    node.update(move, score, searcher);
+                }
+            } finally {
+                parent.shared.taskNodes.add(searcher.nodes - nodesBefore);
+                parent.shared.taskExpanded.add(searcher.expanded - expandedBefore);
+                parent.shared.taskCutoffs.add(searcher.cutoffs - cutoffsBefore);
+                searcher.splitNode = null;
+                parent.shared.spares.add(searcher);
+            }
+        }
+    }
+
+    final Shared shared;
+    private final Rules rules;
+    private final TranspositionTable table;
+    /** The private board the search plays its moves on */
+    final Board board;
+    /** Split node whose move this searcher is working on, or null */
+    private SplitNode splitNode;
+    /** Nodes visited by this searcher */
+    long nodes;
+    /** Nodes whose moves were generated, and those of them cut off by alpha >= beta */
+    long expanded, cutoffs;
+    /** Nodes whose result was found in the tablebase */
+    long tablebaseHits;
+    /** Depth of the last iteration completed by iterate() */
+    int completedDepth;
+
+    // Search buffers, allocated once so that a search allocates nothing
+    /** moveBuffers[ply] holds the moves generated at that ply */
+    private final int[][] moveBuffers;
+    /** Triangular principal-variation table: pv[ply] is the best line from ply on */
+    final int[][] pv;
+    final int[] pvLength;
+    /** Best line of the previous iteration, tried first by the next one */
+    private final int[] pvLine;
+    private int pvLineLength;
+    /** True while the search is still on the previous iteration's best line */
+    private boolean followPv;
+    /** Ordering scores of the moves in moveBuffers */
+    private final int[][] scoreBuffers;
+    /** killers[ply] holds the two latest moves that caused a cut-off at ply */
+    private final int[][] killers;
+    /** history[side][cell], side 0 for CROSS and 1 for NOUGHT */
+    private final int[][] history;
+
+    /** Constructor of a searcher with its own board for the shared state */
+    MinimaxSearch(Shared shared) {
+        this.shared = shared;
+        this.rules = shared.rules;
+        this.table = shared.table;
+        this.board = new Board(rules);
+        int maxPly = Math.min(rules.cellCount, MAX_DEPTH) + 1;
+        moveBuffers = new int[maxPly][rules.cellCount];
+        pv = new int[maxPly + 1][maxPly];
+        pvLength = new int[maxPly + 1];
+        pvLine = new int[maxPly];
+        scoreBuffers = new int[maxPly][rules.cellCount];
+        killers = new int[maxPly][2];
+        history = new int[2][rules.cellCount];
+    }
+
+    /** Prepare for the search of a new move: forget the killers, age the history */
+    void newSearch() {
+        for (int[] killer : killers) {
+            killer[0] = -1;
+            killer[1] = -1;
+        }
+        for (int[] scores : history) {
+            for (int cell = 0; cell < scores.length; ++cell) scores[cell] >>= 1;
+        }
+    }
+
+    /** Iterative deepening: search the position on the board to depth 1, 2, 3...
+     up to maxDepth, or until the shared deadline if the search is timed (the
+     first iteration always completes). Return the best move of the last
+     completed iteration, or -1 if the game is over */
+    int iterate(int maxDepth) {
+        boolean timed = shared.timed;
+        shared.timed = false;  // depth 1 always completes
+        shared.timeUp = false;
+        int bestMove = -1;
+        pvLineLength = 0;
+        completedDepth = 0;
+        int maxUseful = rules.cellCount - board.moveCount;  // deeper than the end of the game
+        for (int depth = 1; depth <= Math.min(maxDepth, maxUseful); ++depth) {
+            followPv = true;
+            int move = search(depth);
+            if (shared.timeUp) break;  // incomplete iteration, keep the previous result
+            bestMove = move;
+            completedDepth = depth;
+            pvLineLength = pvLength[0];
+            System.arraycopy(pv[0], 0, pvLine, 0, pvLineLength);
+            shared.timed = timed;
+            if (timed && System.nanoTime() - shared.deadline >= 0) break;
+        }
+        shared.timed = false;
+        // The last completed line, as the incomplete one may have overwritten pv[0]
+        pvLength[0] = pvLineLength;
+        System.arraycopy(pvLine, 0, pv[0], 0, pvLineLength);
+        return bestMove;
+    }
+
+    /** Search the position on the board to the given depth for mySeed.
+     Return the best move (cell index), or -1 if the game is over */
+    int search(int depth) {
+        pvLength[0] = 0;
+        if (!board.hasWon(shared.mySeed) && !board.hasWon(shared.oppSeed)) {
+            if (shared.pool == null) {
+                minimax(depth, 0, shared.mySeed, Integer.MIN_VALUE, Integer.MAX_VALUE, -1);
+            } else {
+                shared.pool.invoke(ForkJoinTask.adapt(() ->
+                        minimax(depth, 0, shared.mySeed, Integer.MIN_VALUE, Integer.MAX_VALUE, -1)));
+            }
+        }
+        return (pvLength[0] > 0) ? pv[0][0] : -1;
+    }
+
+    /** Take a spare searcher, or make a new one */
+    private MinimaxSearch acquire() {
+        MinimaxSearch searcher = shared.spares.poll();
+        return (searcher != null) ? searcher : new MinimaxSearch(shared);
+    }
+
+    /** Return true if the deadline has passed or the split node this searcher
+     works for has been cut off */
+    private boolean isStopped() {
+        return shared.timeUp || splitNode != null && splitNode.isStopped();
+    }
+
+    /** Minimax (recursive) at level of depth for maximizing or minimizing player
+     with alpha-beta cut-off. lastMove is the cell the other player has just
+     taken, or -1 at the root. Return the score; the best line found from this
+     node is left in pv[ply]. The score is meaningless once isStopped() */
+    private int minimax(int depth, int ply, Seed player, int alpha, int beta, int lastMove) {
+        int alphaOrig = alpha;
+        int betaOrig = beta;
+        pvLength[ply] = 0;
+        // Look at the clock and for a cancel every 64 nodes
+        if ((++nodes & 63) == 0 && (shared.timed && System.nanoTime() - shared.deadline >= 0
+                || shared.cancelCheck.getAsBoolean())) {
+            shared.timeUp = true;
+        }
+        if (isStopped()) return 0;
+
+        // Near the end of the game, the tablebase knows the exact result
+        Tablebase tablebase = shared.tablebase;
+        if (tablebase != null && ply > 0) {
+            int entry = tablebase.probe(board);
+            if (entry != Tablebase.INVALID) {
+                tablebaseHits++;
+                return tablebaseScore(entry, ply, player);
+            }
+        }
+
+        // On the previous iteration's best line, its move here is tried first
+        int pvMove = -1;
+        if (followPv) {
+            followPv = (ply < pvLineLength);
+            if (followPv) pvMove = pvLine[ply];
+        }
+
+        // Look the position up in the transposition table. Below the root, a
+        // result searched at least as deep narrows the window or ends the search
+        int transform = board.canonicalTransform();
+        long hash = board.symHashes[transform];
+        long entry = table.probe(hash);
+        int hashMove = -1;
+        if (entry != TranspositionTable.NOT_FOUND) {
+            int canonicalMove = TranspositionTable.bestMoveOf(entry);
+            if (canonicalMove >= 0) {
+                hashMove = rules.symmetry.inverse[transform][canonicalMove];  // back to this board's frame
+            }
+            if (ply > 0 && TranspositionTable.depthOf(entry) >= depth) {
+                int tableScore = fromStored(TranspositionTable.scoreOf(entry), ply);
+                switch (TranspositionTable.boundOf(entry)) {
+                    case TranspositionTable.EXACT: return tableScore;
+                    case TranspositionTable.LOWER: alpha = Math.max(alpha, tableScore); break;
+                    case TranspositionTable.UPPER: beta = Math.min(beta, tableScore); break;
+                }
+                if (alpha >= beta) {
+                    return tableScore;
+                }
+            }
+        }
+
+        // mySeed is maximizing; while oppSeed is minimizing
+        Seed mySeed = shared.mySeed;
+        Seed other = (player == mySeed) ? shared.oppSeed : mySeed;
+        int score;
+
+        boolean won = lastMove >= 0 && board.hasWon(other, lastMove / rules.cols, lastMove % rules.cols);
+        boolean gameOver = won || board.isDraw();
+
+        if (gameOver || depth == 0) {
+            // Gameover or depth reached, evaluate score. With a tablebase, a win
+            // is on the scale of its wins, so the sooner one is played first
+            if (won && shared.tablebase != null) {
+                score = (other == mySeed) ? shared.tablebaseWin - ply : ply - shared.tablebaseWin;
+            } else {
+                score = evaluate();
+            }
+            table.store(hash, toStored(score, ply), gameOver ? TERMINAL_DEPTH : 0, TranspositionTable.EXACT, -1);
+            return score;
+        }
+
+        // Look the position up in the cache shared with other games, whose scores are for CROSS.
+        // It is keyed by the depth too, up to the end of the game, as games searching from
+        // other roots reach the position with other depths left, and a deeper score may
+        // differ. At the root, a result ends the search only if it holds the move to play
+        SolvedCache solved = (depth >= SOLVED_MIN_DEPTH) ? shared.solved : null;
+        int solvedDepth = Math.min(depth, rules.cellCount - board.moveCount);
+        long solvedKey = hash ^ solvedDepth * DEPTH_KEY
+                ^ ((shared.tablebase != null) ? (shared.tablebase.getMaxEmpty() + 1) * TABLEBASE_KEY : 0);
+        if (solved != null) {
+            long solvedEntry = solved.probe(solvedKey);
+            if (solvedEntry != TranspositionTable.NOT_FOUND) {
+                int canonicalMove = TranspositionTable.bestMoveOf(solvedEntry);
+                if (ply > 0 || canonicalMove >= 0) {
+                    int stored = (mySeed == Seed.CROSS) ? TranspositionTable.scoreOf(solvedEntry)
+                            : -TranspositionTable.scoreOf(solvedEntry);
+                    table.store(hash, stored, depth, TranspositionTable.EXACT, canonicalMove);
+                    score = fromStored(stored, ply);
+                    if (ply == 0) {
+                        pv[0][0] = rules.symmetry.inverse[transform][canonicalMove];
+                        pvLength[0] = 1;
+                    }
+                    return score;
+                }
+            }
+        }
+
+        // Generate possible next moves into this ply's buffer. Try the previous
+        // iteration's best line first, else the best move found earlier for
+        // this position, then the others in the configured order
+        int[] moves = moveBuffers[ply];
+        int[] scores = scoreBuffers[ply];
+        int count = generateMoves(moves);
+        expanded++;
+        int firstMove = (pvMove >= 0) ? pvMove : hashMove;
+        MoveOrdering ordering = shared.ordering;
+        if (ordering == MoveOrdering.NATURAL) {
+            if (firstMove >= 0) {
+                for (int i = 1; i < count; ++i) {
+                    if (moves[i] == firstMove) {
+                        moves[i] = moves[0];
+                        moves[0] = firstMove;
+                        break;
+                    }
+                }
+            }
+        } else {
+            scoreMoves(moves, scores, count, ply, player, firstMove, ordering);
+        }
+
+        int bestMove = -1;
+        for (int i = 0; i < count; ++i) {
+            if (i == 1 && shared.pool != null && depth >= shared.splitDepth && count > 2) {
+                // Young Brothers Wait: the eldest brother is done, search the others in parallel
+                SplitNode node = new SplitNode(splitNode, board, player == mySeed, ply, alpha, beta);
+                node.bestMove = bestMove;
+                node.pvLength = pvLength[ply];
+                System.arraycopy(pv[ply], 0, node.pv, 0, pvLength[ply]);
+                List<MoveTask> tasks = new ArrayList<>(count - 1);
+                for (int j = 1; j < count; ++j) {
+                    if (ordering != MoveOrdering.NATURAL) {
+                        pickNext(moves, scores, j, count);  // forked in order of promise
+                    }
+                    tasks.add(new MoveTask(node, this, moves[j], depth, player));
+                }
+                ForkJoinTask.invokeAll(tasks);
+                if (isStopped()) return 0;
+                alpha = node.alpha;
+                beta = node.beta;
+                bestMove = node.bestMove;
+                pvLength[ply] = node.pvLength;
+                System.arraycopy(node.pv, 0, pv[ply], 0, node.pvLength);
+                if (alpha >= beta) cutoffs++;
+                break;
+            }
+            if (ordering != MoveOrdering.NATURAL) {
+                pickNext(moves, scores, i, count);
+            }
+            int move = moves[i];
+            // try this move for the current "player"
+            board.makeMove(move, player);
+            score = minimax(depth - 1, ply + 1, other, alpha, beta, move);
+            followPv = false;  // the other moves are off the previous best line
+            // undo move
+            board.unmakeMove();
+            if (isStopped()) return 0;
+            if (player == mySeed ? score > alpha : score < beta) {
+                if (player == mySeed) {  // mySeed (computer) is maximizing player
+                    alpha = score;
+                } else {  // oppSeed is minimizing player
+                    beta = score;
+                }
+                bestMove = move;
+                updatePv(ply, move);
+            }
+            // cut-off
+            if (alpha >= beta) {
+                cutoffs++;
+                if (move != firstMove) {
+                    rememberCutoff(ply, depth, player, move);
+                }
+                break;
+            }
+        }
+        score = (player == mySeed) ? alpha : beta;
+        int bound = (score <= alphaOrig) ? TranspositionTable.UPPER
+                : (score >= betaOrig) ? TranspositionTable.LOWER : TranspositionTable.EXACT;
+        int canonicalBest = (bestMove == -1) ? -1 : rules.symmetry.cells[transform][bestMove];
+        int stored = toStored(score, ply);
+        table.store(hash, stored, depth, bound, canonicalBest);
+        if (solved != null && bound == TranspositionTable.EXACT) {
+            solved.store(solvedKey, (mySeed == Seed.CROSS) ? stored : -stored, solvedDepth, canonicalBest);
+        }
+        return score;
+    }
+
+    /** Fill scores with the ordering score of each move */
+    private void scoreMoves(int[] moves, int[] scores, int count, int ply, Seed player, int firstMove,
+                            MoveOrdering ordering) {
+        int[] weights = shared.staticWeights;
+        int[] killer = killers[ply];
+        int[] sideHistory = history[(player == Seed.CROSS) ? 0 : 1];
+        for (int i = 0; i < count; ++i) {
+            int move = moves[i];
+            if (move == firstMove) {
+                scores[i] = FIRST_SCORE;
+            } else if (ordering == MoveOrdering.STATIC) {
+                scores[i] = weights[move];
+            } else if (move == killer[0]) {
+                scores[i] = KILLER_SCORE + 1;
+            } else if (move == killer[1]) {
+                scores[i] = KILLER_SCORE;
+            } else {
+                scores[i] = (sideHistory[move] << 8) + weights[move];
+            }
+        }
+    }
+
+    /** Swap the best scored of moves[from..count) into moves[from] */
+    private static void pickNext(int[] moves, int[] scores, int from, int count) {
+        int best = from;
+        for (int i = from + 1; i < count; ++i) {
+            if (scores[i] > scores[best]) best = i;
+        }
+        if (best != from) {
+            int move = moves[from];
+            moves[from] = moves[best];
+            moves[best] = move;
+            int score = scores[from];
+            scores[from] = scores[best];
+            scores[best] = score;
+        }
+    }
+
+    /** A move has caused a cut-off: make it a killer of the ply, raise its history */
+    private void rememberCutoff(int ply, int depth, Seed player, int move) {
+        int[] killer = killers[ply];
+        if (killer[0] != move) {
+            killer[1] = killer[0];
+            killer[0] = move;
+        }
+        int[] sideHistory = history[(player == Seed.CROSS) ? 0 : 1];
+        sideHistory[move] += depth * depth;
+        if (sideHistory[move] > HISTORY_MAX) {
+            for (int[] scores : history) {
+                for (int cell = 0; cell < scores.length; ++cell) scores[cell] >>= 1;
+            }
+        }
+    }
+
+    /** Make pv[ply] the given move followed by the line found from the next ply */
+    private void updatePv(int ply, int move) {
+        pv[ply][0] = move;
+        System.arraycopy(pv[ply + 1], 0, pv[ply], 1, pvLength[ply + 1]);
+        pvLength[ply] = pvLength[ply + 1] + 1;
+    }
+
+    /** Find all valid next moves, i.e., the empty cells.
+     Store their cell indices (row * cols + col) into moves and return how many */
+    int generateMoves(int[] moves) {
+        long[] crossBits = board.crossBits;
+        long[] noughtBits = board.noughtBits;
+        int count = 0;
+        for (int word = 0; word < crossBits.length; ++word) {
+            long empty = ~(crossBits[word] | noughtBits[word]);
+            int base = word << 6;
+            if (rules.cellCount - base < 64) {
+                empty &= (1L << (rules.cellCount - base)) - 1;  // no cells past the end
+            }
+            for (; empty != 0; empty &= empty - 1) {
+                moves[count++] = base + Long.numberOfTrailingZeros(empty);
+            }
+        }
+        return count;
+    }
+
+    /** Return the score for mySeed of a tablebase entry at the given ply, whose result is for the player to move */
+    private int tablebaseScore(int entry, int ply, Seed player) {
+        int end = ply + Tablebase.distanceOf(entry);  // the ply at which the game ends
+        int score;
+        switch (Tablebase.resultOf(entry)) {
+            case Tablebase.WIN: score = shared.tablebaseWin - end; break;
+            case Tablebase.LOSS: score = end - shared.tablebaseWin; break;
+            default: score = 0; break;
+        }
+        return (player == shared.mySeed) ? score : -score;
+    }
+
+    /** Return the score of a node at ply as stored in the tables: a won or lost game counted
+     from the node rather than the root, so that it holds wherever the position comes up */
+    private int toStored(int score, int ply) {
+        if (shared.tablebase == null) return score;
+        if (score >= shared.tablebaseWin - rules.cellCount) return score + ply;
+        if (score <= rules.cellCount - shared.tablebaseWin) return score - ply;
+        return score;
+    }
+
+    /** Return the score of a node at ply from one stored in the tables, the inverse of toStored() */
+    private int fromStored(int score, int ply) {
+        if (shared.tablebase == null) return score;
+        if (score >= shared.tablebaseWin - rules.cellCount) return score - ply;
+        if (score <= rules.cellCount - shared.tablebaseWin) return score + ply;
+        return score;
+    }
+
+    /** The heuristic evaluation function for the current board: the sum of
+     the values of all lines (see Rules.lineValues), kept up to date by the
+     board on every move, so a leaf costs nothing to evaluate */
+    int evaluate() {
+        return (shared.mySeed == Seed.CROSS) ? board.lineScore : -board.lineScore;
+    }
+}
@@ -0,0 +1,12 @@
+package tictactoe;
+
+/**
+ * Enumeration for the order in which the search tries the moves of a node.
+ * All of them try the best move known for the position (previous iteration's
+ * line or transposition table) first.
+ */
+public enum MoveOrdering {
+    NATURAL,  // then row by row, column by column
+    STATIC,   // then the cells on the most winning lines first: center, corners, sides on 3x3
+    DYNAMIC   // then the killer moves of the ply, then by history score, ties broken as STATIC
+}
@@ -0,0 +1,120 @@
+package tictactoe;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The Rules class describes a game variant: a rows-by-cols board that is won
+ * by placing winLength seeds in a row, column or diagonal.
+ * Cell (row, col) is addressed by its index (row * cols + col).
+ */
+public class Rules {
+    /** The four line directions {dRow, dCol}: row, column, diagonal, reverse diagonal */
+    static final int[][] DIRECTIONS = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+
+    /** The classic 3x3, 3-in-a-row game */
+    public static final Rules STANDARD = new Rules(3, 3, 3);
+
+    // Define properties (package-visible)
+    final int rows, cols, winLength;
+    /** Number of cells, i.e., rows * cols */
+    final int cellCount;
+    /** Every winning line as the cell indices it covers */
+    final int[][] lines;
+    /** For each cell, the indices (into lines) of the winning lines passing through it */
+    final int[][] linesThrough;
+    /** Bit mask of each winning line, or null if the board does not fit in a long */
+    final long[] lineMasks;
+    /** Zobrist keys of CROSS and NOUGHT in each cell, the hash of a position
+     is the XOR of the keys of its occupied cells */
+    final long[] crossKeys, noughtKeys;
+    /** lineValues[crosses][noughts]: heuristic value of a line from CROSS's point of
+     view, +1, +10, +100... for 1, 2, 3... crosses only, the negative for noughts
+     only, and 0 for a mixed or empty line. NOUGHT's value is the negative */
+    final int[][] lineValues;
+    /** Rotations and reflections of the board */
+    final Symmetry symmetry;
+
+    /** Constructor with board size and number in a row needed to win */
+    public Rules(int rows, int cols, int winLength) {
+        if (rows < 1 || cols < 1 || winLength < 1 || winLength > Math.max(rows, cols)) {
+            throw new IllegalArgumentException("Invalid rules " + rows + "x" + cols + ", " + winLength + " in a row");
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.winLength = winLength;
+        this.cellCount = rows * cols;
+
+        // Collect all winLength-long segments in the four directions
+        List<int[]> found = new ArrayList<>();
+        for (int[] dir : DIRECTIONS) {
+            for (int row = 0; row < rows; ++row) {
+                for (int col = 0; col < cols; ++col) {
+                    int endRow = row + dir[0] * (winLength - 1);
+                    int endCol = col + dir[1] * (winLength - 1);
+                    if (endRow < 0 || endRow >= rows || endCol < 0 || endCol >= cols) continue;
+                    int[] line = new int[winLength];
+                    for (int i = 0; i < winLength; ++i) {
+                        line[i] = (row + dir[0] * i) * cols + (col + dir[1] * i);
+                    }
+                    found.add(line);
+                }
+            }
+        }
+        lines = found.toArray(new int[0][]);
+
+        // Index the lines by the cells they cover
+        int[] counts = new int[cellCount];
+        for (int[] line : lines) {
+            for (int cell : line) counts[cell]++;
+        }
+        linesThrough = new int[cellCount][];
+        for (int cell = 0; cell < cellCount; ++cell) {
+            linesThrough[cell] = new int[counts[cell]];
+            counts[cell] = 0;
+        }
+        for (int i = 0; i < lines.length; ++i) {
+            for (int cell : lines[i]) linesThrough[cell][counts[cell]++] = i;
+        }
+
+        if (isCompact()) {
+            lineMasks = new long[lines.length];
+            for (int i = 0; i < lines.length; ++i) {
+                for (int cell : lines[i]) lineMasks[i] |= 1L << cell;
+            }
+        } else {
+            lineMasks = null;
+        }
+
+        // Fixed seed, so that hashes are the same in every run
+        java.util.SplittableRandom random = new java.util.SplittableRandom(0x7A3C5EED ^ cellCount);
+        crossKeys = new long[cellCount];
+        noughtKeys = new long[cellCount];
+        for (int cell = 0; cell < cellCount; ++cell) {
+            crossKeys[cell] = random.nextLong();
+            noughtKeys[cell] = random.nextLong();
+        }
+        lineValues = new int[winLength + 1][winLength + 1];
+        for (int count = 1, score = 1; count <= winLength; ++count, score = Math.min(score * 10, 100_000_000)) {
+            lineValues[count][0] = score;
+            lineValues[0][count] = -score;
+        }
+        symmetry = new Symmetry(this);
+    }
+
+    /** Return true if a whole board fits in the bits of a single long */
+    public boolean isCompact() {
+        return cellCount <= 64;
+    }
+
+    /** Return the rules given on the command line as "rows cols winLength", or STANDARD */
+    public static Rules fromArgs(String[] args) {
+        if (args.length < 3) return STANDARD;
+        return new Rules(Integer.parseInt(args[0]), Integer.parseInt(args[1]), Integer.parseInt(args[2]));
+    }
+
+    @Override
+    public String toString() {
+        return rows + "x" + cols + ", " + winLength + " in a row";
+    }
+}
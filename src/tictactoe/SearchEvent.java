@@ -0,0 +1,68 @@
+package tictactoe;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Frequency;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Percentage;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event of one AI move(). The event's duration is the
+ * time the move took. The players get it from beginIfEnabled(), which
+ * returns null while no recording has the event enabled, so a move costs
+ * one flag check rather than an event object.
+ * <p>
+ * Record with, e.g., java -XX:StartFlightRecording:filename=ai.jfr ...
+ * and open the file in JDK Mission Control, or run "jfr print --events tictactoe.AIMove ai.jfr".
+ */
+@Name("tictactoe.AIMove")
+@Label("AI Move")
+@Category({"Tic-Tac-Toe", "AI"})
+@Description("One move() of an AI player")
+@StackTrace(false)
+class SearchEvent extends Event {
+    @Label("Strategy")
+    String strategy;
+
+    @Label("Nodes")
+    @Description("Positions visited (playouts for Monte Carlo players)")
+    long nodes;
+
+    @Label("Nodes per Second")
+    @Frequency
+    double nodesPerSecond;
+
+    @Label("Depth")
+    @Description("Plies of the deepest completed search, 0 if the player does not search by depth")
+    int depth;
+
+    @Label("Cut-off Ratio")
+    @Description("Fraction of the expanded nodes that were cut off by alpha-beta")
+    @Percentage
+    double cutoffRatio;
+
+    /** The registered type of the event, looked up once */
+    private static final EventType TYPE = EventType.getEventType(SearchEvent.class);
+
+    /** Return a begun event if a recording has it enabled, else null */
+    static SearchEvent beginIfEnabled() {
+        if (!TYPE.isEnabled()) return null;
+        SearchEvent event = new SearchEvent();
+        event.begin();
+        return event;
+    }
+
+    /** Fill in the fields of a move that visited nodes in elapsedNanos, and commit the event */
+    void commit(String strategy, long nodes, long elapsedNanos, int depth, long expanded, long cutoffs) {
+        this.strategy = strategy;
+        this.nodes = nodes;
+        this.nodesPerSecond = nodes * 1e9 / Math.max(1, elapsedNanos);
+        this.depth = depth;
+        this.cutoffRatio = (expanded > 0) ? (double) cutoffs / expanded : 0;
+        commit();
+    }
+}
@@ -0,0 +1,149 @@
+package tictactoe;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Statistics of the moves of one AI strategy, shared by all its players and
+ * published over JMX. Recording a move is a few LongAdder (striped counter)
+ * adds, so players of many threads can record without contending.
+ */
+public final class SearchStats implements SearchStatsMXBean {
+    /** Buckets of the power-of-2 histograms */
+    private static final int BUCKETS = 40;
+    private static final ConcurrentHashMap<String, SearchStats> STATS = new ConcurrentHashMap<>();
+
+    private volatile boolean enabled = true;
+    private final LongAdder moves = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder totalNodes = new LongAdder();
+    private final LongAdder expanded = new LongAdder();
+    private final LongAdder cutoffs = new LongAdder();
+    private final LongAdder[] timeHistogram = newHistogram(BUCKETS);
+    private final LongAdder[] nodeHistogram = newHistogram(BUCKETS);
+    private final LongAdder[] depthHistogram = newHistogram(MinimaxSearch.MAX_DEPTH + 1);
+
+    private SearchStats() {
+    }
+
+    /** Return the statistics of the given strategy, registered with the platform MBean server on first use */
+    public static SearchStats of(String strategy) {
+        return STATS.computeIfAbsent(strategy, name -> {
+            SearchStats stats = new SearchStats();
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(stats,
+                        new ObjectName("tictactoe:type=SearchStats,strategy=" + name));
+            } catch (JMException e) {
+                System.out.println("Error registering search statistics: " + e.getMessage());
+            }
+            return stats;
+        });
+    }
+
+    private static LongAdder[] newHistogram(int buckets) {
+        LongAdder[] histogram = new LongAdder[buckets];
+        for (int i = 0; i < buckets; ++i) histogram[i] = new LongAdder();
+        return histogram;
+    }
+
+    /** Return the power-of-2 bucket of the value */
+    private static int bucketOf(long value) {
+        return Math.min(63 - Long.numberOfLeadingZeros(value | 1), BUCKETS - 1);
+    }
+
+    private static long[] snapshot(LongAdder[] histogram) {
+        long[] counts = new long[histogram.length];
+        for (int i = 0; i < counts.length; ++i) counts[i] = histogram[i].sum();
+        return counts;
+    }
+
+    /** Record a move that visited nodes in elapsedNanos, completed depth, and cut off cutoffs of its expanded nodes */
+    public void record(long elapsedNanos, long nodes, int depth, long expanded, long cutoffs) {
+        if (!enabled) return;
+        moves.increment();
+        totalNanos.add(elapsedNanos);
+        maxNanos.accumulate(elapsedNanos);
+        totalNodes.add(nodes);
+        this.expanded.add(expanded);
+        this.cutoffs.add(cutoffs);
+        timeHistogram[bucketOf(elapsedNanos / 1000)].increment();
+        nodeHistogram[bucketOf(nodes)].increment();
+        depthHistogram[Math.max(0, Math.min(depth, MinimaxSearch.MAX_DEPTH))].increment();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public long getMoves() {
+        return moves.sum();
+    }
+
+    @Override
+    public long getTotalNodes() {
+        return totalNodes.sum();
+    }
+
+    @Override
+    public double getMeanMillis() {
+        long count = moves.sum();
+        return (count > 0) ? totalNanos.sum() / 1e6 / count : 0;
+    }
+
+    @Override
+    public double getMaxMillis() {
+        return maxNanos.get() / 1e6;
+    }
+
+    @Override
+    public double getNodesPerSecond() {
+        long nanos = totalNanos.sum();
+        return (nanos > 0) ? totalNodes.sum() * 1e9 / nanos : 0;
+    }
+
+    @Override
+    public double getCutoffRatio() {
+        long count = expanded.sum();
+        return (count > 0) ? (double) cutoffs.sum() / count : 0;
+    }
+
+    @Override
+    public long[] getMoveTimeHistogram() {
+        return snapshot(timeHistogram);
+    }
+
+    @Override
+    public long[] getNodeHistogram() {
+        return snapshot(nodeHistogram);
+    }
+
+    @Override
+    public long[] getDepthHistogram() {
+        return snapshot(depthHistogram);
+    }
+
+    @Override
+    public void reset() {
+        moves.reset();
+        totalNanos.reset();
+        maxNanos.reset();
+        totalNodes.reset();
+        expanded.reset();
+        cutoffs.reset();
+        for (LongAdder count : timeHistogram) count.reset();
+        for (LongAdder count : nodeHistogram) count.reset();
+        for (LongAdder count : depthHistogram) count.reset();
+    }
+}
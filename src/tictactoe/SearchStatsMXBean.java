@@ -0,0 +1,39 @@
+package tictactoe;
+
+/**
+ * JMX view of the moves of one AI strategy, registered as
+ * tictactoe:type=SearchStats,strategy=&lt;name&gt;. The histograms have
+ * power-of-2 buckets: bucket i counts the values in [2^i, 2^(i+1)), bucket 0
+ * also counts 0, and the last bucket everything above.
+ */
+public interface SearchStatsMXBean {
+    /** Return false if moves are no longer recorded */
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    long getMoves();
+
+    long getTotalNodes();
+
+    double getMeanMillis();
+
+    double getMaxMillis();
+
+    double getNodesPerSecond();
+
+    /** Return the fraction of the expanded nodes that were cut off, over all moves */
+    double getCutoffRatio();
+
+    /** Return the histogram of the time per move in microseconds */
+    long[] getMoveTimeHistogram();
+
+    /** Return the histogram of the nodes visited per move */
+    long[] getNodeHistogram();
+
+    /** Return the number of moves that completed each search depth, index 0 to MAX_DEPTH */
+    long[] getDepthHistogram();
+
+    /** Clear all the counters */
+    void reset();
+}
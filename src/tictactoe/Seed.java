@@ -1,3 +1,5 @@
+package tictactoe;
+
 /**
  * Enumeration for the seeds and cell contents
  */
@@ -0,0 +1,278 @@
+package tictactoe;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Headless batch engine for AI-vs-AI games, with no Scanner, sound or GUI.
+ * Every thread plays whole games on its own Board with its own two players,
+ * made by the given factories, so nothing is shared but the rules, the
+ * counters and the SolvedCache of the minimax players. Games are handed out
+ * in batches from one atomic counter, and the results are summed in
+ * LongAdders (striped counters), so threads hardly ever touch the same cache
+ * line and throughput grows with the cores.
+ * <p>
+ * Deterministic players would replay the same game over and over; a random
+ * opening of a few moves gives every game a different start.
+ * <p>
+ * Arguments (all optional): games crossPlayer noughtPlayer openingMoves rows cols winLength logFile,
+ * where a player is minimax[:depth], minimax+tb[:depth], mcts[:playouts], solved or table. With a logFile,
+ * every game is appended to that GameRecordLog.
+ */
+public class SelfPlay {
+    /** Games claimed by a thread at a time */
+    private static final int BATCH = 64;
+
+    private final Rules rules;
+    private final Function<Board, AIPlayer> crossFactory, noughtFactory;
+    private int openingMoves;
+    private long seed = 42;
+    private GameRecordLog log;
+
+    /** The totals of a run */
+    public static class Result {
+        public final long crossWins, noughtWins, draws, moves;
+        /** Time spent in move() by each side, summed over all threads */
+        public final long crossNanos, noughtNanos;
+        /** Wall-clock time of the run */
+        public final long elapsedNanos;
+        public final int threads;
+
+        Result(long crossWins, long noughtWins, long draws, long moves, long crossNanos, long noughtNanos,
+               long elapsedNanos, int threads) {
+            this.crossWins = crossWins;
+            this.noughtWins = noughtWins;
+            this.draws = draws;
+            this.moves = moves;
+            this.crossNanos = crossNanos;
+            this.noughtNanos = noughtNanos;
+            this.elapsedNanos = elapsedNanos;
+            this.threads = threads;
+        }
+
+        public long games() {
+            return crossWins + noughtWins + draws;
+        }
+
+        public double gamesPerSecond() {
+            return games() * 1e9 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            long crossMoves = (moves + 1) / 2;  // about half the moves are CROSS's
+            return String.format("%2d threads: %,d games in %.2f s, %,.0f games/s | X won %d, O won %d, draws %d"
+                            + " | avg move X %.1f us, O %.1f us",
+                    threads, games(), elapsedNanos / 1e9, gamesPerSecond(), crossWins, noughtWins, draws,
+                    crossNanos / 1e3 / Math.max(1, crossMoves), noughtNanos / 1e3 / Math.max(1, moves - crossMoves));
+        }
+    }
+
+    /** Constructor with the rules and a factory for each side's player, e.g., AIPlayerMinimax::new */
+    public SelfPlay(Rules rules, Function<Board, AIPlayer> crossFactory, Function<Board, AIPlayer> noughtFactory) {
+        this.rules = rules;
+        this.crossFactory = crossFactory;
+        this.noughtFactory = noughtFactory;
+        // A player that cannot play these rules, e.g., a 3x3 table, fails here rather than on every thread
+        Board board = new Board(rules);
+        crossFactory.apply(board);
+        noughtFactory.apply(board);
+    }
+
+    /** Start every game with this many random moves (0, the default, for none) */
+    public void setOpeningMoves(int openingMoves) {
+        this.openingMoves = Math.max(0, openingMoves);
+    }
+
+    /** Set the seed of the random openings, so that runs can be repeated */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /** Append every game played to the log, or to none if null (the default) */
+    public void setGameLog(GameRecordLog log) {
+        this.log = log;
+    }
+
+    /** Play the given number of games on the given number of threads. Return the totals */
+    public Result run(long games, int threads) {
+        AtomicLong nextGame = new AtomicLong();
+        LongAdder crossWins = new LongAdder();
+        LongAdder noughtWins = new LongAdder();
+        LongAdder draws = new LongAdder();
+        LongAdder moves = new LongAdder();
+        LongAdder crossNanos = new LongAdder();
+        LongAdder noughtNanos = new LongAdder();
+
+        AtomicReference<IOException> logFailure = new AtomicReference<>();
+        SplittableRandom master = new SplittableRandom(seed);
+        List<Thread> workers = new ArrayList<>(threads);
+        for (int t = 0; t < threads; ++t) {
+            SplittableRandom random = master.split();  // one independent stream per thread
+            workers.add(new Thread(() -> {
+                Board board = new Board(rules);
+                AIPlayer cross = crossFactory.apply(board);
+                AIPlayer nought = noughtFactory.apply(board);
+                cross.setSeed(Seed.CROSS);
+                nought.setSeed(Seed.NOUGHT);
+                long[] nanos = new long[2];  // {cross, nought}, added up per batch
+                int[] counts = new int[4];   // {cross wins, nought wins, draws, moves}
+                int[] gameMoves = new int[rules.cellCount];  // cells of the current game
+                long first;
+                while ((first = nextGame.getAndAdd(BATCH)) < games) {
+                    long last = Math.min(first + BATCH, games);
+                    for (long game = first; game < last; ++game) {
+                        GameState state = playGame(board, cross, nought, random, nanos, counts, gameMoves);
+                        if (log != null && logFailure.get() == null) {
+                            try {
+                                log.append(state, gameMoves, board.moveCount);
+                            } catch (IOException e) {
+                                logFailure.compareAndSet(null, e);
+                            }
+                        }
+                        if (state == GameState.CROSS_WON) counts[0]++;
+                        else if (state == GameState.NOUGHT_WON) counts[1]++;
+                        else counts[2]++;
+                    }
+                    crossWins.add(counts[0]);
+                    noughtWins.add(counts[1]);
+                    draws.add(counts[2]);
+                    moves.add(counts[3]);
+                    crossNanos.add(nanos[0]);
+                    noughtNanos.add(nanos[1]);
+                    java.util.Arrays.fill(counts, 0);
+                    java.util.Arrays.fill(nanos, 0L);
+                }
+            }, "self-play-" + t));
+        }
+
+        long start = System.nanoTime();
+        for (Thread worker : workers) worker.start();
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the self-play threads", e);
+            }
+        }
+        try {
+            if (log != null) log.flush();
+        } catch (IOException e) {
+            logFailure.compareAndSet(null, e);
+        }
+        if (logFailure.get() != null) {
+            throw new UncheckedIOException("Error writing the game log", logFailure.get());
+        }
+        return new Result(crossWins.sum(), noughtWins.sum(), draws.sum(), moves.sum(),
+                crossNanos.sum(), noughtNanos.sum(), System.nanoTime() - start, threads);
+    }
+
+    /** Play one game on the board, after the random opening, keeping its moves
+     in moves. Add the time of each side's moves into nanos and the number of
+     moves into counts[3]. Return the final state */
+    private GameState playGame(Board board, AIPlayer cross, AIPlayer nought, SplittableRandom random,
+                               long[] nanos, int[] counts, int[] moves) {
+        board.init();
+        Seed player = Seed.CROSS;
+        for (int m = 0; m < rules.cellCount; ++m) {
+            int row, col;
+            if (m < openingMoves) {
+                int cell;
+                do {
+                    cell = random.nextInt(rules.cellCount);
+                } while (board.cells[cell / rules.cols][cell % rules.cols].content != Seed.EMPTY);
+                row = cell / rules.cols;
+                col = cell % rules.cols;
+            } else {
+                AIPlayer ai = (player == Seed.CROSS) ? cross : nought;
+                long start = System.nanoTime();
+                int[] move = ai.move();
+                nanos[(player == Seed.CROSS) ? 0 : 1] += System.nanoTime() - start;
+                if (move == null || board.cells[move[0]][move[1]].content != Seed.EMPTY) {
+                    throw new IllegalStateException(ai.getClass().getSimpleName() + " made no valid move");
+                }
+                row = move[0];
+                col = move[1];
+            }
+            board.makeMove(row * rules.cols + col, player);
+            moves[m] = row * rules.cols + col;
+            counts[3]++;
+            GameState state = GameEngine.stateAfter(board, player, row, col);
+            if (state != GameState.PLAYING) {
+                return state;
+            }
+            player = (player == Seed.CROSS) ? Seed.NOUGHT : Seed.CROSS;
+        }
+        return GameState.DRAW;
+    }
+
+    /** Return the factory of the player named by spec: minimax[:depth], minimax+tb[:depth]
+     (probing the tablebase in the working directory), mcts[:playouts], solved or table */
+    static Function<Board, AIPlayer> playerFactory(String spec) {
+        String[] parts = spec.split(":");
+        int level = (parts.length > 1) ? Integer.parseInt(parts[1]) : -1;
+        switch (parts[0]) {
+            case "minimax":
+            case "minimax+tb":  // probing the tablebase of the rules, if there is one
+                boolean probe = parts[0].endsWith("+tb");
+                Map<Rules, Tablebase> tablebases = new ConcurrentHashMap<>();  // one mapping shared by the threads
+                return board -> {
+                    AIPlayerMinimax player = new AIPlayerMinimax(board, 1L << 20);
+                    player.setSearchDepth((level > 0) ? level : board.rules.cellCount);
+                    if (probe) {
+                        player.setTablebase(tablebases.computeIfAbsent(board.rules, Tablebase::openDefault));
+                    }
+                    return player;
+                };
+            case "mcts":
+                return board -> {
+                    AIPlayerMcts player = new AIPlayerMcts(board);
+                    if (level > 0) player.setPlayoutBudget(level);
+                    return player;
+                };
+            case "solved":
+                return AIPlayerSolvedTable::new;
+            case "table":
+                return AIPlayerTableLookup::new;
+            default:
+                throw new IllegalArgumentException("Unknown player " + spec);
+        }
+    }
+
+    /** Play the games on 1, 2, 4... threads up to the number of cores and print the totals of each run */
+    public static void main(String[] args) throws IOException {
+        long games = (args.length >= 1) ? Long.parseLong(args[0]) : 200_000;
+        String crossSpec = (args.length >= 2) ? args[1] : "minimax";
+        String noughtSpec = (args.length >= 3) ? args[2] : "table";
+        int opening = (args.length >= 4) ? Integer.parseInt(args[3]) : 2;
+        Rules rules = (args.length >= 7) ? Rules.fromArgs(new String[] {args[4], args[5], args[6]}) : Rules.STANDARD;
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        SelfPlay selfPlay = new SelfPlay(rules, playerFactory(crossSpec), playerFactory(noughtSpec));
+        selfPlay.setOpeningMoves(opening);
+        System.out.println(rules + ": X " + crossSpec + " vs O " + noughtSpec + ", " + opening
+                + " random opening moves, " + cores + " cores");
+        selfPlay.run(Math.min(games, 10_000), cores);  // warm up
+        try (GameRecordLog log = (args.length >= 8) ? new GameRecordLog(Paths.get(args[7]), rules) : null) {
+            selfPlay.setGameLog(log);  // the warm-up games are not logged
+            for (int threads = 1; threads <= cores; threads *= 2) {
+                System.out.println(selfPlay.run(games, threads));
+            }
+        }
+        SolvedCache solved = SolvedCache.shared(rules);
+        if (solved != null && (crossSpec.startsWith("minimax") || noughtSpec.startsWith("minimax"))) {
+            System.out.println("Solved cache: " + solved);
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package tictactoe;
+
+/**
+ * Store of many live games of one variant, packed into a single long[] so
+ * that a million sessions are one object for the garbage collector instead
+ * of millions of Boards and Cells. A session is addressed by the id returned
+ * by open(); its slot holds both sides' bitboards, a meta word and a score
+ * word:
+ * <pre>
+ *   [0, words)          CROSS bitboard (cell i is bit (i &amp; 63) of word (i &gt;&gt;&gt; 6))
+ *   [words, 2 * words)  NOUGHT bitboard
+ *   2 * words           meta: state (bits 0-1), NOUGHT to move (bit 2), open (bit 3), move count (bits 16-31)
+ *   2 * words + 1       scores: CROSS wins, NOUGHT wins, draws, 21 bits each
+ * </pre>
+ * A 3x3 session takes 4 longs, i.e., 32 bytes. Moves are played and wins
+ * detected directly on the slot, through the lines of the Rules. Closed slots
+ * are chained in a free list through their first word and reused by open().
+ * <p>
+ * open() and close() may be called from any thread. The other methods do not
+ * lock: each session must be used by one thread at a time, e.g., the selector
+ * thread of a server. GameServer does not use the arena, as its AI players
+ * search on Boards; the arena is for games of two remote players, or for
+ * servers whose AI works on the bitboards directly.
+ */
+public class SessionArena {
+    private static final int STATE_MASK = 3;
+    private static final long NOUGHT_TO_MOVE = 1L << 2;
+    private static final long OPEN = 1L << 3;
+    private static final int MOVE_COUNT_SHIFT = 16;
+    private static final int SCORE_BITS = 21;
+    private static final long SCORE_MAX = (1L << SCORE_BITS) - 1;  // scores stop counting there
+    private static final GameState[] STATES = GameState.values();
+
+    private final Rules rules;
+    /** Words of one bitboard */
+    private final int words;
+    /** Longs per session */
+    private final int stride;
+    private final int capacity;
+    private final long[] arena;
+    /** First free slot, -1 if the arena is full */
+    private int freeHead;
+    private int openCount;
+
+    /** Constructor of an arena for at most capacity sessions of the given rules */
+    public SessionArena(Rules rules, int capacity) {
+        this.rules = rules;
+        this.words = (rules.cellCount + 63) >>> 6;
+        this.stride = 2 * words + 2;
+        if (capacity < 1 || (long) capacity * stride > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Invalid arena capacity " + capacity);
+        }
+        this.capacity = capacity;
+        arena = new long[capacity * stride];
+        for (int id = 0; id < capacity; ++id) {
+            arena[id * stride] = (id + 1 < capacity) ? id + 1 : -1;  // chain all slots
+        }
+        freeHead = 0;
+    }
+
+    /** Open a session with an empty board and no scores. Return its id */
+    public synchronized int open() {
+        if (freeHead < 0) {
+            throw new IllegalStateException("Session arena full (" + capacity + " sessions)");
+        }
+        int id = freeHead;
+        int base = id * stride;
+        freeHead = (int) arena[base];
+        java.util.Arrays.fill(arena, base, base + stride, 0L);
+        arena[base + 2 * words] = OPEN;  // PLAYING, CROSS to move
+        openCount++;
+        return id;
+    }
+
+    /** Close the session and free its slot */
+    public synchronized void close(int id) {
+        int base = checkOpen(id);
+        arena[base + 2 * words] = 0;
+        arena[base] = freeHead;
+        freeHead = id;
+        openCount--;
+    }
+
+    /** Return the number of open sessions */
+    public synchronized int size() {
+        return openCount;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public Rules getRules() {
+        return rules;
+    }
+
+    /** Start a new game in the session, CROSS to move. Its scores are kept */
+    public void newGame(int id) {
+        int base = checkOpen(id);
+        java.util.Arrays.fill(arena, base, base + 2 * words, 0L);
+        arena[base + 2 * words] = OPEN;
+    }
+
+    /** Place the seed of the side to move at (row, col). Return the state of the game after the move */
+    public GameState play(int id, int row, int col) {
+        if (row < 0 || row >= rules.rows || col < 0 || col >= rules.cols) {
+            throw new IllegalArgumentException("Invalid move " + row + " " + col);
+        }
+        return play(id, row * rules.cols + col);
+    }
+
+    /** Place the seed of the side to move in the cell (row * cols + col).
+     Return the state of the game after the move, whose end is added to the scores */
+    public GameState play(int id, int cell) {
+        int base = checkOpen(id);
+        long meta = arena[base + 2 * words];
+        if ((meta & STATE_MASK) != GameState.PLAYING.ordinal()) {
+            throw new IllegalStateException("Game over in session " + id);
+        }
+        if (cell < 0 || cell >= rules.cellCount) {
+            throw new IllegalArgumentException("Invalid move " + cell + " in session " + id);
+        }
+        int word = cell >>> 6;
+        long bit = 1L << cell;
+        if (((arena[base + word] | arena[base + words + word]) & bit) != 0) {
+            throw new IllegalArgumentException("Invalid move " + cell + " in session " + id);
+        }
+        boolean nought = (meta & NOUGHT_TO_MOVE) != 0;
+        int side = base + (nought ? words : 0);
+        arena[side + word] |= bit;
+
+        int moveCount = (int) (meta >>> MOVE_COUNT_SHIFT) + 1;
+        GameState state;
+        int scoreShift;
+        if (hasLine(side, cell)) {
+            state = nought ? GameState.NOUGHT_WON : GameState.CROSS_WON;
+            scoreShift = nought ? SCORE_BITS : 0;
+        } else if (moveCount == rules.cellCount) {
+            state = GameState.DRAW;
+            scoreShift = 2 * SCORE_BITS;
+        } else {
+            state = GameState.PLAYING;
+            scoreShift = -1;
+        }
+        if (scoreShift >= 0 && ((arena[base + 2 * words + 1] >>> scoreShift) & SCORE_MAX) != SCORE_MAX) {
+            arena[base + 2 * words + 1] += 1L << scoreShift;
+        }
+        arena[base + 2 * words] = OPEN | ((long) moveCount << MOVE_COUNT_SHIFT)
+                | (nought ? 0 : NOUGHT_TO_MOVE) | state.ordinal();
+        return state;
+    }
+
+    /** Return true if the bitboard at side completes a line through the cell */
+    private boolean hasLine(int side, int cell) {
+        if (rules.lineMasks != null) {  // one word, test the masks
+            long bits = arena[side];
+            for (int line : rules.linesThrough[cell]) {
+                long mask = rules.lineMasks[line];
+                if ((bits & mask) == mask) return true;
+            }
+            return false;
+        }
+        for (int line : rules.linesThrough[cell]) {
+            int[] cells = rules.lines[line];
+            int i = 0;
+            while (i < cells.length && (arena[side + (cells[i] >>> 6)] & (1L << cells[i])) != 0) i++;
+            if (i == cells.length) return true;
+        }
+        return false;
+    }
+
+    public GameState stateOf(int id) {
+        return STATES[(int) (arena[checkOpen(id) + 2 * words] & STATE_MASK)];
+    }
+
+    /** Return the seed to move, whether or not the game is over */
+    public Seed toMove(int id) {
+        return ((arena[checkOpen(id) + 2 * words] & NOUGHT_TO_MOVE) != 0) ? Seed.NOUGHT : Seed.CROSS;
+    }
+
+    public int moveCount(int id) {
+        return (int) (arena[checkOpen(id) + 2 * words] >>> MOVE_COUNT_SHIFT) & 0xFFFF;
+    }
+
+    /** Return the content of the cell (row * cols + col) */
+    public Seed contentOf(int id, int cell) {
+        int base = checkOpen(id);
+        if (cell < 0 || cell >= rules.cellCount) {
+            throw new IllegalArgumentException("Invalid cell " + cell + " in session " + id);
+        }
+        long bit = 1L << cell;
+        if ((arena[base + (cell >>> 6)] & bit) != 0) return Seed.CROSS;
+        if ((arena[base + words + (cell >>> 6)] & bit) != 0) return Seed.NOUGHT;
+        return Seed.EMPTY;
+    }
+
+    public int crossWins(int id) {
+        return score(id, 0);
+    }
+
+    public int noughtWins(int id) {
+        return score(id, SCORE_BITS);
+    }
+
+    public int draws(int id) {
+        return score(id, 2 * SCORE_BITS);
+    }
+
+    private int score(int id, int shift) {
+        return (int) ((arena[checkOpen(id) + 2 * words + 1] >>> shift) & SCORE_MAX);
+    }
+
+    /** Set up the board with the session's position, e.g., for an AI player to search it */
+    public void loadInto(int id, Board board) {
+        int base = checkOpen(id);
+        if (board.rules != rules) {
+            throw new IllegalArgumentException("Board of other rules " + board.rules);
+        }
+        board.init();
+        for (int word = 0; word < words; ++word) {
+            for (long bits = arena[base + word]; bits != 0; bits &= bits - 1) {
+                board.setCell((word << 6) + Long.numberOfTrailingZeros(bits), Seed.CROSS);
+            }
+            for (long bits = arena[base + words + word]; bits != 0; bits &= bits - 1) {
+                board.setCell((word << 6) + Long.numberOfTrailingZeros(bits), Seed.NOUGHT);
+            }
+        }
+    }
+
+    /** Return the index of the session's slot, after checking that it is open */
+    private int checkOpen(int id) {
+        if (id < 0 || id >= capacity || (arena[id * stride + 2 * words] & OPEN) == 0) {
+            throw new IllegalArgumentException("No open session " + id);
+        }
+        return id * stride;
+    }
+}
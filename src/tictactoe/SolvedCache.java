@@ -0,0 +1,241 @@
+package tictactoe;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Exact search results of one variant, shared by all the minimax players of
+ * the process, so that a position solved in one game is a lookup in every
+ * other. Keys are given by the search, from the canonical Zobrist hash and the
+ * depth searched; scores are for CROSS, so players of either side and any
+ * board symmetry share an entry.
+ * <p>
+ * Entries are held in buckets of four, read and written without locking like
+ * the TranspositionTable: the key is stored XOR-ed with the packed entry, so a
+ * torn read fails the key check and counts as a miss.
+ * <p>
+ * A full bucket admits a new result TinyLFU style: every lookup is counted in
+ * a frequency sketch (a count-min sketch of 4-bit counters, updated by CAS and
+ * halved every 10 * capacity lookups, so old popularity fades), and the new
+ * position replaces the least used of the bucket only if it has been looked
+ * up more often. Positions seen once cannot push out those that keep coming
+ * back, e.g., the openings every game goes through.
+ */
+public final class SolvedCache implements SolvedCacheMXBean {
+    /** Entries of the shared cache of each variant, from the property tictactoe.solvedCache.entries, 0 for none */
+    public static final int DEFAULT_ENTRIES = Integer.getInteger("tictactoe.solvedCache.entries", 1 << 18);
+    private static final ConcurrentHashMap<String, SolvedCache> SHARED = new ConcurrentHashMap<>();
+
+    private static final int BUCKET_SIZE = 4;
+    /** Odd multipliers picking the counter of a position in each row of the sketch */
+    private static final long[] SKETCH_SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L};
+    /** Clears the top bit of every counter once shifted right, halving them all */
+    private static final long HALF_MASK = 0x7777777777777777L;
+
+    private final long[] keys;  // hash ^ data of each entry
+    private final long[] data;  // packed as by TranspositionTable.pack(), EXACT bound
+    private final int bucketMask;
+
+    /** 16 counters of 4 bits per long, 4 counters per position */
+    private final AtomicLongArray sketch;
+    private final int sketchBits;
+    /** Lookups counted since the counters were last halved, and the number that halves them */
+    private final AtomicInteger samples = new AtomicInteger();
+    private final int sampleLimit;
+
+    // Statistics
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    /** Constructor with the number of entries (rounded down to a power of two, at least one bucket) */
+    public SolvedCache(int entries) {
+        int buckets = Integer.highestOneBit(Math.max(1, Math.min(entries, 1 << 28) / BUCKET_SIZE));
+        keys = new long[buckets * BUCKET_SIZE];
+        data = new long[buckets * BUCKET_SIZE];
+        bucketMask = buckets - 1;
+        int sketchLength = Math.max(buckets, 16);  // 4 counters per entry
+        sketch = new AtomicLongArray(sketchLength);
+        sketchBits = Integer.numberOfTrailingZeros(sketchLength);
+        sampleLimit = 10 * data.length;
+    }
+
+    /** Return the cache shared by the players of the given variant, or null if
+     tictactoe.solvedCache.entries is 0. It is registered with the platform MBean server on first use
+     and kept for the life of the process, so a process playing any variant asked for, such as
+     GameServer, should make caches of its own instead */
+    public static SolvedCache shared(Rules rules) {
+        if (DEFAULT_ENTRIES <= 0) return null;
+        String name = rules.rows + "x" + rules.cols + "-" + rules.winLength;
+        return SHARED.computeIfAbsent(name, key -> {
+            SolvedCache cache = new SolvedCache(DEFAULT_ENTRIES);
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(cache,
+                        new ObjectName("tictactoe:type=SolvedCache,rules=" + key));
+            } catch (JMException e) {
+                System.out.println("Error registering solved cache: " + e.getMessage());
+            }
+            return cache;
+        });
+    }
+
+    /** Return the packed entry of the position with the given hash, or TranspositionTable.NOT_FOUND.
+     Read it with TranspositionTable.scoreOf(), depthOf() and bestMoveOf() */
+    public long probe(long hash) {
+        recordAccess(hash);
+        int slot = ((int) hash & bucketMask) * BUCKET_SIZE;
+        for (int i = slot; i < slot + BUCKET_SIZE; ++i) {
+            long entry = data[i];
+            if (entry != TranspositionTable.NOT_FOUND && (keys[i] ^ entry) == hash) {
+                hits.increment();
+                return entry;
+            }
+        }
+        misses.increment();
+        return TranspositionTable.NOT_FOUND;
+    }
+
+    /** Store the exact score for CROSS of the position with the given hash, searched to depth.
+     bestMove is a cell index of the canonical position, or -1 if there is none */
+    public void store(long hash, int score, int depth, int bestMove) {
+        long entry = TranspositionTable.pack(score, depth, TranspositionTable.EXACT, bestMove, 0);
+        int slot = ((int) hash & bucketMask) * BUCKET_SIZE;
+        int victim = -1;
+        int victimFrequency = Integer.MAX_VALUE;
+        for (int i = slot; i < slot + BUCKET_SIZE; ++i) {
+            long old = data[i];
+            if (old == TranspositionTable.NOT_FOUND) {
+                keys[i] = hash ^ entry;  // a free slot
+                data[i] = entry;
+                return;
+            }
+            long oldHash = keys[i] ^ old;
+            if (oldHash == hash) {
+                keys[i] = hash ^ entry;  // the same result, maybe with another best move
+                data[i] = entry;
+                return;
+            }
+            int frequency = frequencyOf(oldHash);
+            if (frequency < victimFrequency) {
+                victim = i;
+                victimFrequency = frequency;
+            }
+        }
+        if (frequencyOf(hash) > victimFrequency) {
+            keys[victim] = hash ^ entry;
+            data[victim] = entry;
+            evictions.increment();
+        } else {
+            rejections.increment();
+        }
+    }
+
+    /** Count a lookup of the position in the sketch, halving all counters once enough are counted */
+    private void recordAccess(long hash) {
+        boolean added = false;
+        for (long seed : SKETCH_SEEDS) {
+            long mixed = hash * seed;
+            int index = (int) (mixed >>> (64 - sketchBits));
+            int shift = ((int) (mixed >>> 32) & 15) << 2;
+            long counters;
+            do {
+                counters = sketch.get(index);
+                if ((counters >>> shift & 15) == 15) break;  // saturated
+            } while (!sketch.compareAndSet(index, counters, counters + (1L << shift)));
+            added |= (counters >>> shift & 15) != 15;
+        }
+        if (added && samples.incrementAndGet() == sampleLimit) {
+            for (int i = 0; i < sketch.length(); ++i) {
+                long counters;
+                do {
+                    counters = sketch.get(i);
+                } while (!sketch.compareAndSet(i, counters, (counters >>> 1) & HALF_MASK));
+            }
+            samples.addAndGet(-sampleLimit / 2);
+        }
+    }
+
+    /** Return the estimated number of recent lookups of the position: the least of its counters */
+    private int frequencyOf(long hash) {
+        int frequency = 15;
+        for (long seed : SKETCH_SEEDS) {
+            long mixed = hash * seed;
+            int index = (int) (mixed >>> (64 - sketchBits));
+            int shift = ((int) (mixed >>> 32) & 15) << 2;
+            frequency = Math.min(frequency, (int) (sketch.get(index) >>> shift) & 15);
+        }
+        return frequency;
+    }
+
+    @Override
+    public int getCapacity() {
+        return data.length;
+    }
+
+    @Override
+    public int getSize() {
+        int size = 0;
+        for (long entry : data) {
+            if (entry != TranspositionTable.NOT_FOUND) size++;
+        }
+        return size;
+    }
+
+    @Override
+    public long getHits() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    @Override
+    public double getHitRate() {
+        long found = getHits();
+        long probes = found + getMisses();
+        return (probes == 0) ? 0.0 : (double) found / probes;
+    }
+
+    @Override
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    @Override
+    public long getRejections() {
+        return rejections.sum();
+    }
+
+    @Override
+    public void reset() {
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+        rejections.reset();
+    }
+
+    @Override
+    public void clear() {
+        java.util.Arrays.fill(keys, 0L);
+        java.util.Arrays.fill(data, 0L);
+        for (int i = 0; i < sketch.length(); ++i) sketch.set(i, 0L);
+        samples.set(0);
+        reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%,d of %,d entries, hit rate %.1f%% (%,d hits, %,d misses), %,d evicted, %,d rejected",
+                getSize(), getCapacity(), 100 * getHitRate(), getHits(), getMisses(), getEvictions(),
+                getRejections());
+    }
+}
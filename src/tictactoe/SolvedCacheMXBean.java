@@ -0,0 +1,32 @@
+package tictactoe;
+
+/**
+ * JMX view of the SolvedCache of one variant, registered as
+ * tictactoe:type=SolvedCache,rules=&lt;rows&gt;x&lt;cols&gt;-&lt;winLength&gt;.
+ */
+public interface SolvedCacheMXBean {
+    /** Return the number of entries the cache can hold */
+    int getCapacity();
+
+    /** Return the number of entries held, counted on each call */
+    int getSize();
+
+    long getHits();
+
+    long getMisses();
+
+    /** Return the fraction of lookups that found their position */
+    double getHitRate();
+
+    /** Return the number of entries replaced by a more frequently used position */
+    long getEvictions();
+
+    /** Return the number of results not admitted, being used less than the entries they would replace */
+    long getRejections();
+
+    /** Clear the counters */
+    void reset();
+
+    /** Remove all entries and clear the counters */
+    void clear();
+}
@@ -0,0 +1,58 @@
+package tictactoe;
+
+/**
+ * Sound effects of the games, played through the AudioBackend selected once
+ * per process: JavaSound, or nothing on systems without an audio device or
+ * with -Dtictactoe.audio=none. Every method returns at once.
+ */
+public class SoundEffect {
+    private static final String BACKGROUND_MUSIC = "bg-music.wav";
+    private static final String VICTORY_MUSIC = "Win.wav";
+    private static final String PLAYER_WIN_MUSIC = "Win.wav";
+    private static final String AI_WIN_MUSIC = "you-lose.wav";
+
+    /** Holder of the backend, selected on first use */
+    private static class Backend {
+        static final AudioBackend INSTANCE = AudioBackend.select();
+    }
+
+    private final AudioBackend audio;
+
+    public SoundEffect() {
+        this(Backend.INSTANCE);
+    }
+
+    /** Constructor of sound effects played through the given backend */
+    public SoundEffect(AudioBackend audio) {
+        this.audio = audio;
+        audio.preload(VICTORY_MUSIC, PLAYER_WIN_MUSIC, AI_WIN_MUSIC);
+    }
+
+    public void playBackgroundMusic() {
+        audio.playMusic(BACKGROUND_MUSIC);
+    }
+
+    public void stopBackgroundMusic() {
+        audio.stopMusic();
+    }
+
+    public void playVictoryMusic() {
+        audio.stopMusic();
+        audio.playClip(VICTORY_MUSIC);
+    }
+
+    public void playPlayerWinMusic() {
+        audio.stopMusic();
+        audio.playClip(PLAYER_WIN_MUSIC);
+    }
+
+    public void playAIWinMusic() {
+        audio.stopMusic();
+        audio.playClip(AI_WIN_MUSIC);
+    }
+
+    public void stopAllSounds() {
+        audio.stopMusic();
+        audio.stopClips();
+    }
+}
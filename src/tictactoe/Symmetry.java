@@ -0,0 +1,117 @@
+package tictactoe;
+
+/**
+ * The Symmetry class lists the rotations and reflections that map a board of
+ * the given Rules onto itself: all 8 of the D4 group on a square board, or the
+ * 4 that keep the shape of a rectangular one. Symmetric positions have the
+ * same game value, so caches and tables only need to store one of them, the
+ * canonical position.
+ * <p>
+ * On boards of up to 64 cells, a bitboard is transformed with one lookup per
+ * byte in precomputed bit-permutation tables.
+ */
+public class Symmetry {
+    /** Number of transforms. Transform 0 is the identity */
+    final int count;
+    /** Number of cells of the board */
+    private final int cellCount;
+    /** cells[t][cell] is the cell that "cell" is mapped to by transform t */
+    final int[][] cells;
+    /** inverse[t][cell] is the cell that transform t maps to "cell" */
+    final int[][] inverse;
+    /** chunks[t][c][b]: image under t of byte value b at byte c of a bitboard,
+     or null if the board does not fit in a long */
+    private final long[][][] chunks;
+
+    /** Constructor, build the tables for the board size of the given rules */
+    Symmetry(Rules rules) {
+        int rows = rules.rows;
+        int cols = rules.cols;
+        count = (rows == cols) ? 8 : 4;
+        cellCount = rules.cellCount;
+        cells = new int[count][rules.cellCount];
+        inverse = new int[count][rules.cellCount];
+        for (int t = 0; t < count; ++t) {
+            for (int row = 0; row < rows; ++row) {
+                for (int col = 0; col < cols; ++col) {
+                    int image = transform(t, row, col, rows, cols);
+                    cells[t][row * cols + col] = image;
+                    inverse[t][image] = row * cols + col;
+                }
+            }
+        }
+
+        if (rules.isCompact()) {
+            int bytes = (rules.cellCount + 7) >>> 3;
+            chunks = new long[count][bytes][256];
+            for (int t = 0; t < count; ++t) {
+                for (int c = 0; c < bytes; ++c) {
+                    for (int b = 1; b < 256; ++b) {
+                        int low = Integer.numberOfTrailingZeros(b);
+                        int cell = c * 8 + low;
+                        long image = (cell < rules.cellCount) ? 1L << cells[t][cell] : 0L;
+                        chunks[t][c][b] = chunks[t][c][b & (b - 1)] | image;
+                    }
+                }
+            }
+        } else {
+            chunks = null;
+        }
+    }
+
+    /** Return the cell index of (row, col) after transform t */
+    private static int transform(int t, int row, int col, int rows, int cols) {
+        switch (t) {
+            case 0: return row * cols + col;                              // identity
+            case 1: return row * cols + (cols - 1 - col);                 // mirror left-right
+            case 2: return (rows - 1 - row) * cols + col;                 // mirror top-bottom
+            case 3: return (rows - 1 - row) * cols + (cols - 1 - col);    // rotate 180
+            case 4: return col * cols + row;                              // transpose
+            case 5: return col * cols + (rows - 1 - row);                 // rotate 90 clockwise
+            case 6: return (cols - 1 - col) * cols + row;                 // rotate 90 counter-clockwise
+            default: return (cols - 1 - col) * cols + (rows - 1 - row);   // anti-transpose
+        }
+    }
+
+    /** Return the bitboard "bits" after transform t (boards of up to 64 cells) */
+    public long permute(long bits, int t) {
+        long[][] table = chunks[t];
+        long result = 0L;
+        for (int c = 0; c < table.length; ++c) {
+            result |= table[c][(int) (bits >>> (c << 3)) & 0xFF];
+        }
+        return result;
+    }
+
+    /** Return the canonical key of a position on a board of n <= 30 cells, packed
+     with the transform that leads to it: ((crossBits' << n | noughtBits') << 3 | t),
+     where the primed bitboards are the smallest images among all transforms.
+     Use keyOf() and transformOf() to unpack */
+    public long canonicalKey(long crossBits, long noughtBits) {
+        long best = Long.MAX_VALUE;
+        for (int t = 0; t < count; ++t) {
+            long key = (permute(crossBits, t) << cellCount | permute(noughtBits, t)) << 3 | t;
+            if (key < best) best = key;
+        }
+        return best;
+    }
+
+    /** Return the key part of a packed canonical key */
+    public static long keyOf(long packed) {
+        return packed >>> 3;
+    }
+
+    /** Return the transform part of a packed canonical key */
+    public static int transformOf(long packed) {
+        return (int) packed & 0x7;
+    }
+
+    /** Return the index of the smallest of the per-transform hashes */
+    public static int minIndex(long[] hashes) {
+        int best = 0;
+        for (int t = 1; t < hashes.length; ++t) {
+            if (hashes[t] < hashes[best]) best = t;
+        }
+        return best;
+    }
+}
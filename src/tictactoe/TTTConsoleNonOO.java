@@ -1,32 +1,16 @@
+package tictactoe;
+
 import java.util.Scanner;
 
 /**
  * Tic-Tac-Toe: Two-player, console-based, non-graphics, non-OO version.
  * All variables/methods are declared as static (i.e., class)
- *  in this non-OO version.
+ *  in this non-OO version. The rules are kept by a GameEngine.
  */
 public class TTTConsoleNonOO {
-    // Define named constants for:
-    //  1. Player: using CROSS and NOUGHT
-    //  2. Cell contents: using CROSS, NOUGHT and NO_SEED
-    public static final int CROSS   = 0;
-    public static final int NOUGHT  = 1;
-    public static final int NO_SEED = 2;
-
-    // The game board
+    // The game: board, current player (CROSS, NOUGHT) and current state
     public static final int ROWS = 3, COLS = 3;  // number of rows/columns
-    public static int[][] board = new int[ROWS][COLS]; // EMPTY, CROSS, NOUGHT
-
-    // The current player
-    public static int currentPlayer;  // CROSS, NOUGHT
-
-    // Define named constants to represent the various states of the game
-    public static final int PLAYING    = 0;
-    public static final int DRAW       = 1;
-    public static final int CROSS_WON  = 2;
-    public static final int NOUGHT_WON = 3;
-    // The current state of the game
-    public static int currentState;
+    public static GameEngine engine = new GameEngine(Rules.STANDARD);
 
     // Score tracking
     public static int crossScore = 0;
@@ -58,7 +42,8 @@ public class TTTConsoleNonOO {
             // Refresh the display
             paintBoard();
             // Print message if game over
-            if (currentState == CROSS_WON) {
+            GameState currentState = engine.getState();
+            if (currentState == GameState.CROSS_WON) {
                 crossScore++;
                 System.out.println("'X' won!");
                 soundEffect.playVictoryMusic();  // Play victory music
@@ -71,7 +56,7 @@ public class TTTConsoleNonOO {
                 }
                 soundEffect.stopAllSounds();
                 System.out.println("Thanks for playing! Bye!");
-            } else if (currentState == NOUGHT_WON) {
+            } else if (currentState == GameState.NOUGHT_WON) {
                 noughtScore++;
                 System.out.println("'O' won!");
                 soundEffect.playVictoryMusic();  // Play victory music
@@ -84,7 +69,7 @@ public class TTTConsoleNonOO {
                 }
                 soundEffect.stopAllSounds();
                 System.out.println("Thanks for playing! Bye!");
-            } else if (currentState == DRAW) {
+            } else if (currentState == GameState.DRAW) {
                 System.out.println("It's a Draw!");
                 soundEffect.stopBackgroundMusic();  // Stop background music on draw
                 displayScores();
@@ -97,12 +82,10 @@ public class TTTConsoleNonOO {
                 soundEffect.stopAllSounds();
                 System.out.println("Thanks for playing! Bye!");
             }
-            // Switch currentPlayer
-            currentPlayer = (currentPlayer == CROSS) ? NOUGHT : CROSS;
-        } while (currentState == PLAYING); // repeat if not game over
+        } while (engine.getState() == GameState.PLAYING); // repeat if not game over
     }
 
-    /** Initialize the board[][], currentState and currentPlayer for a new game*/
+    /** Initialize the board, currentState and currentPlayer for a new game*/
     public static void initGame() {
         // Initialize sound if not already done
         if (soundEffect == null) {
@@ -111,31 +94,24 @@ public class TTTConsoleNonOO {
         soundEffect.stopAllSounds();
         soundEffect.playBackgroundMusic();
 
-        for (int row = 0; row < ROWS; ++row) {
-            for (int col = 0; col < COLS; ++col) {
-                board[row][col] = NO_SEED;  // all cells empty
-            }
-        }
-        currentPlayer = CROSS;   // cross plays first
-        currentState  = PLAYING; // ready to play
+        engine.newGame();  // all cells empty, cross plays first
     }
 
     /** The currentPlayer makes one move (one step).
-     Update board[selectedRow][selectedCol] and currentState. */
+     The engine updates the board, currentState and currentPlayer. */
     public static void stepGame() {
         boolean validInput = false;  // for input validation
         do {
-            if (currentPlayer == CROSS) {
+            if (engine.getCurrentPlayer() == Seed.CROSS) {
                 System.out.print("Player 'X', enter your move (row[1-3] column[1-3]): ");
             } else {
                 System.out.print("Player 'O', enter your move (row[1-3] column[1-3]): ");
             }
             int row = in.nextInt() - 1;  // array index starts at 0 instead of 1
             int col = in.nextInt() - 1;
-            if (row >= 0 && row < ROWS && col >= 0 && col < COLS
-                    && board[row][col] == NO_SEED) {
-                // Update board[][] and return the new game state after the move
-                currentState = stepGameUpdate(currentPlayer, row, col);
+            if (engine.isValidMove(row, col)) {
+                // Update the board and the game state after the move
+                engine.play(row, col);
                 validInput = true;  // input okay, exit loop
             } else {
                 System.out.println("This move at (" + (row + 1) + "," + (col + 1)
@@ -144,52 +120,11 @@ public class TTTConsoleNonOO {
         } while (!validInput);  // repeat if input is invalid
     }
 
-    /**
-     * Helper function of stepGame().
-     * The given player makes a move at (selectedRow, selectedCol).
-     * Update board[selectedRow][selectedCol]. Compute and return the
-     * new game state (PLAYING, DRAW, CROSS_WON, NOUGHT_WON).
-     * @return new game state
-     */
-    public static int stepGameUpdate(int player, int selectedRow, int selectedCol) {
-
-        // Update game board
-        board[selectedRow][selectedCol] = player;
-
-        // Compute and return the new game state
-        if (board[selectedRow][0] == player       // 3-in-the-row
-                && board[selectedRow][1] == player
-                && board[selectedRow][2] == player
-                || board[0][selectedCol] == player // 3-in-the-column
-                && board[1][selectedCol] == player
-                && board[2][selectedCol] == player
-                || selectedRow == selectedCol      // 3-in-the-diagonal
-                && board[0][0] == player
-                && board[1][1] == player
-                && board[2][2] == player
-                || selectedRow + selectedCol == 2  // 3-in-the-opposite-diagonal
-                && board[0][2] == player
-                && board[1][1] == player
-                && board[2][0] == player) {
-            return (player == CROSS) ? CROSS_WON : NOUGHT_WON;
-        } else {
-            // Nobody win. Check for DRAW (all cells occupied) or PLAYING.
-            for (int row = 0; row < ROWS; ++row) {
-                for (int col = 0; col < COLS; ++col) {
-                    if (board[row][col] == NO_SEED) {
-                        return PLAYING; // still have empty cells
-                    }
-                }
-            }
-            return DRAW; // no empty cell, it's a draw
-        }
-    }
-
     /** Print the game board */
     public static void paintBoard() {
         for (int row = 0; row < ROWS; ++row) {
             for (int col = 0; col < COLS; ++col) {
-                paintCell(board[row][col]); // print each of the cells
+                paintCell(engine.contentOf(row, col)); // print each of the cells
                 if (col != COLS - 1) {
                     System.out.print("|");   // print vertical partition
                 }
@@ -203,11 +138,11 @@ public class TTTConsoleNonOO {
     }
 
     /** Print a cell having the given content */
-    public static void paintCell(int content) {
+    public static void paintCell(Seed content) {
         switch (content) {
             case CROSS:   System.out.print(" X "); break;
             case NOUGHT:  System.out.print(" O "); break;
-            case NO_SEED: System.out.print("   "); break;
+            case EMPTY:   System.out.print("   "); break;
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,485 @@
+package tictactoe;
+
+import java.awt.*;
+import java.awt.event.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.swing.*;
+
+public class TTTGraphics extends JFrame {
+    private static final long serialVersionUID = 1L;
+
+    // Define constants
+    public static final int CELL_SIZE = 120;       // largest cell size
+    public static final int MAX_BOARD_SIZE = 720;  // cells shrink so that big boards fit
+    public static final int GRID_WIDTH = 10;
+    public static final int GRID_WIDTH_HALF = GRID_WIDTH / 2;
+    public static final int SYMBOL_STROKE_WIDTH = 8;
+    public static final int AI_TIME_BUDGET_MS = 500;  // AI thinking time per move
+    public static final int AI_PROGRESS_MS = 100;     // status bar refresh while the AI thinks
+
+    // Board dimensions, derived from the rules
+    private final int ROWS;
+    private final int COLS;
+    private final int cellSize;
+    private final int boardWidth;
+    private final int boardHeight;
+    private final int cellPadding;
+    private final int symbolSize;
+
+    // Colors and fonts
+    public static final Color COLOR_BG = Color.BLACK;
+    public static final Color COLOR_BG_STATUS = new Color(216, 216, 216);
+    public static final Color COLOR_GRID = Color.WHITE;
+    public static final Color COLOR_CROSS = new Color(138, 43, 226);  // Purple
+    public static final Color COLOR_NOUGHT = new Color(255, 0, 0);  // Red
+
+    public static final Font FONT_STATUS = new Font("Arial Black", Font.ITALIC, 18);
+    private static final BasicStroke SYMBOL_STROKE = new BasicStroke(SYMBOL_STROKE_WIDTH,
+            BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
+
+    // Game state
+    private GameEngine engine;
+    private boolean isAIMode;
+    private AIPlayer aiPlayer;
+
+    // AI search, run off the Event Dispatch Thread so that the GUI never blocks
+    /** Runs one search at a time */
+    private final ExecutorService aiExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "AI search");
+        thread.setDaemon(true);  // do not keep the application alive
+        return thread;
+    });
+    /** The AI player's own board, only used on the search thread */
+    private Board aiBoard;
+    /** Bumped for every search and on cancel; a search whose number is no
+     longer current stops early and its result is dropped */
+    private volatile int searchGeneration;
+    /** Refreshes the status bar with the search progress */
+    private Timer progressTimer;
+
+    // UI Components
+    private GamePanel gamePanel;
+    private JLabel statusBar;
+    private JButton newGameButton;
+    private JButton switchModeButton;
+    private JButton resetScoreButton;
+    private JButton undoButton;
+    private JButton redoButton;
+    private JPanel scorePanel;
+    private JLabel crossScoreLabel;
+    private JLabel noughtScoreLabel;
+    private int crossScore = 0;
+    private int noughtScore = 0;
+    private SoundEffect soundEffect;  // Add sound effect object
+    private GameRecordLog gameLog;    // log of the finished games, null if it cannot be written
+    private int[] loggedMoves;        // moves of the current game's ending in the log, redoing it must not append it again
+
+    public TTTGraphics(Rules rules) {
+        ROWS = rules.rows;
+        COLS = rules.cols;
+        cellSize = Math.min(CELL_SIZE, MAX_BOARD_SIZE / Math.max(ROWS, COLS));
+        boardWidth = cellSize * COLS;
+        boardHeight = cellSize * ROWS;
+        cellPadding = cellSize / 5;
+        symbolSize = cellSize - cellPadding * 2;
+
+        // Initialize sound effects first
+        soundEffect = new SoundEffect();
+
+        // Initialize the game
+        engine = new GameEngine(rules);
+
+        // Finished games are appended to the log of these rules
+        try {
+            gameLog = new GameRecordLog(GameRecordLog.defaultPath(rules), rules);
+        } catch (IOException e) {
+            System.out.println("Error opening game log: " + e.getMessage());
+        }
+
+        aiBoard = new Board(rules);
+        AIPlayerMinimax minimaxPlayer = new AIPlayerMinimax(aiBoard);
+        minimaxPlayer.setTimeBudget(AI_TIME_BUDGET_MS);  // search as deep as the time allows
+        minimaxPlayer.setTablebase(Tablebase.openDefault(rules));  // exact play near the end, if generated
+        aiPlayer = minimaxPlayer;
+        aiPlayer.setSeed(Seed.NOUGHT);  // AI plays O
+        isAIMode = true;  // Start with AI mode by default
+
+        // Set up GUI components
+        gamePanel = new GamePanel();
+        gamePanel.setPreferredSize(new Dimension(boardWidth, boardHeight));
+
+        // Add mouse listener for game moves
+        gamePanel.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (engine.getState() == GameState.PLAYING) {
+                    if (isAIMode && engine.getCurrentPlayer() == Seed.NOUGHT) {
+                        return;  // the AI is thinking
+                    }
+                    int row = e.getY() / cellSize;
+                    int col = e.getX() / cellSize;
+
+                    if (engine.isValidMove(row, col)) {
+                        // Human move, the engine then gives the turn to the other side
+                        engine.play(row, col);
+
+                        if (engine.getState() == GameState.PLAYING && isAIMode) {  // After human plays X
+                            // AI's turn, the search runs in the background
+                            startAIMove();
+                        }
+                        updateStatusBar();
+                    }
+                } else {
+                    // Game is over, clicking anywhere starts a new game
+                    newGame();
+                }
+            }
+        });
+
+        // Status bar
+        statusBar = new JLabel("       ");
+        statusBar.setFont(FONT_STATUS);
+        statusBar.setBorder(BorderFactory.createEmptyBorder(5, 10, 5, 12));
+        statusBar.setOpaque(true);
+        statusBar.setBackground(COLOR_BG_STATUS);
+        progressTimer = new Timer(AI_PROGRESS_MS, e -> updateStatusBar());
+
+        // Buttons
+        newGameButton = new JButton("New Game");
+        newGameButton.addActionListener(e -> newGame());
+
+        switchModeButton = new JButton("Switch to PVP");
+        switchModeButton.addActionListener(e -> {
+            isAIMode = !isAIMode;
+            switchModeButton.setText(isAIMode ? "Switch to PVP" : "Switch to AI");
+            newGame();
+        });
+
+        resetScoreButton = new JButton("Reset Scores");
+        resetScoreButton.addActionListener(e -> resetScores());
+
+        undoButton = new JButton("Undo");
+        undoButton.addActionListener(e -> undoMove());
+        redoButton = new JButton("Redo");
+        redoButton.addActionListener(e -> redoMove());
+
+        // Create score panel
+        scorePanel = new JPanel();
+        scorePanel.setBackground(COLOR_BG_STATUS);
+        scorePanel.setLayout(new FlowLayout(FlowLayout.CENTER, 20, 5));
+
+        crossScoreLabel = new JLabel("X: 0");
+        crossScoreLabel.setFont(FONT_STATUS);
+        crossScoreLabel.setForeground(COLOR_CROSS);
+
+        noughtScoreLabel = new JLabel("O: 0");
+        noughtScoreLabel.setFont(FONT_STATUS);
+        noughtScoreLabel.setForeground(COLOR_NOUGHT);
+
+        JLabel vsLabel = new JLabel("vs");
+        vsLabel.setFont(FONT_STATUS);
+        scorePanel.add(crossScoreLabel);
+        scorePanel.add(vsLabel);
+        scorePanel.add(noughtScoreLabel);
+
+        // Button panel
+        JPanel buttonPanel = new JPanel();
+        buttonPanel.add(newGameButton);
+        buttonPanel.add(switchModeButton);
+        buttonPanel.add(resetScoreButton);
+        buttonPanel.add(undoButton);
+        buttonPanel.add(redoButton);
+
+        // Create a top panel to hold both score and buttons
+        JPanel topPanel = new JPanel();
+        topPanel.setLayout(new BorderLayout());
+        topPanel.add(scorePanel, BorderLayout.CENTER);
+        topPanel.add(buttonPanel, BorderLayout.SOUTH);
+
+        // Layout
+        Container cp = getContentPane();
+        cp.setLayout(new BorderLayout());
+        cp.add(topPanel, BorderLayout.NORTH);
+        cp.add(gamePanel, BorderLayout.CENTER);
+        cp.add(statusBar, BorderLayout.PAGE_END);
+
+        setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        pack();
+        setTitle("Tic Tac Toe with AI");
+        setVisible(true);
+
+        // The view follows the engine
+        engine.addListener(new GameEngine.Listener() {
+            @Override
+            public void gameStarted(GameEngine engine) {
+                updateStatusBar();
+                gamePanel.repaint();
+            }
+
+            @Override
+            public void movePlayed(GameEngine engine, Seed player, int row, int col) {
+                gamePanel.repaintCell(row, col);
+            }
+
+            @Override
+            public void gameOver(GameEngine engine, GameState result) {
+                TTTGraphics.this.gameOver(result);
+            }
+
+            @Override
+            public void moveUndone(GameEngine engine, Seed player, int row, int col) {
+                gamePanel.repaintCell(row, col);
+            }
+        });
+        newGame();
+    }
+
+    /** Start the AI search for the current position on the search thread.
+     Its move is played on the Event Dispatch Thread by finishAIMove() */
+    private void startAIMove() {
+        int generation = ++searchGeneration;
+        Board position = new Board(engine.getBoard());  // snapshot, the game board belongs to the EDT
+        aiExecutor.execute(() -> {
+            if (generation != searchGeneration) return;  // cancelled before it started
+            aiPlayer.setCancelCheck(() -> generation != searchGeneration);
+            aiBoard.copyFrom(position);
+            int[] move = aiPlayer.move();
+            int row = (move != null) ? move[0] : -1;  // the array is reused by the next move()
+            int col = (move != null) ? move[1] : -1;
+            SwingUtilities.invokeLater(() -> finishAIMove(generation, row, col));
+        });
+        progressTimer.start();
+        updateStatusBar();
+    }
+
+    /** Play the AI's move, unless its search has been cancelled since */
+    private void finishAIMove(int generation, int row, int col) {
+        if (generation != searchGeneration) return;
+        progressTimer.stop();
+        if (row >= 0 && engine.getCurrentPlayer() == Seed.NOUGHT && engine.isValidMove(row, col)) {
+            engine.play(row, col);  // back to human
+            updateStatusBar();
+        }
+    }
+
+    /** Stop a running AI search and drop its move */
+    private void cancelAIMove() {
+        searchGeneration++;
+        progressTimer.stop();
+    }
+
+    /** Update the scores, the sounds and the log at the end of a game */
+    private void gameOver(GameState result) {
+        if (result == GameState.CROSS_WON) {
+            crossScore++;
+            crossScoreLabel.setText("X: " + crossScore);
+            if (isAIMode) {
+                soundEffect.playPlayerWinMusic();  // Player wins against AI
+            } else {
+                soundEffect.playVictoryMusic();    // PVP victory
+            }
+        } else if (result == GameState.NOUGHT_WON) {
+            noughtScore++;
+            noughtScoreLabel.setText("O: " + noughtScore);
+            if (isAIMode) {
+                soundEffect.playAIWinMusic();      // AI wins
+            } else {
+                soundEffect.playVictoryMusic();    // PVP victory
+            }
+        } else {
+            soundEffect.stopBackgroundMusic();  // Stop background music on draw
+        }
+        logGame(result);
+    }
+
+    /** Append the finished game to the game log, if it could be opened, once per ending:
+     redoing the logged ending adds nothing, a different one reached after an undo is appended too.
+     The log is append-only, so an undo cannot take the record back */
+    private void logGame(GameState result) {
+        int[] moves = engine.getMoves();
+        int count = engine.getMoveCount();
+        if (gameLog == null
+                || (loggedMoves != null && Arrays.equals(loggedMoves, 0, loggedMoves.length, moves, 0, count))) return;
+        try {
+            gameLog.append(result, moves, count);
+            gameLog.flush();
+            loggedMoves = Arrays.copyOf(moves, count);
+        } catch (IOException e) {
+            System.out.println("Error writing game log: " + e.getMessage());
+        }
+    }
+
+    private void newGame() {
+        cancelAIMove();
+
+        // Stop any playing sounds and start background music
+        if (soundEffect != null) {
+            soundEffect.stopAllSounds();
+            soundEffect.playBackgroundMusic();
+        }
+
+        loggedMoves = null;
+        engine.newGame();  // cross plays first
+    }
+
+    /** Take back the last move, and against the AI its reply too, so that the human is to move */
+    private void undoMove() {
+        cancelAIMove();
+        takeBackResult();
+        if (engine.undo() && isAIMode && engine.getCurrentPlayer() == Seed.NOUGHT) {
+            engine.undo();
+        }
+        updateStatusBar();
+    }
+
+    /** Play again the last move taken back, and against the AI its reply too, or let the AI search it */
+    private void redoMove() {
+        cancelAIMove();
+        if (engine.redo() && isAIMode && engine.getState() == GameState.PLAYING
+                && engine.getCurrentPlayer() == Seed.NOUGHT && !engine.redo()) {
+            startAIMove();
+        }
+        updateStatusBar();
+    }
+
+    /** Before reopening a finished game, remove its result from the scores and resume the music */
+    private void takeBackResult() {
+        GameState result = engine.getState();
+        if (result == GameState.PLAYING || !engine.canUndo()) return;
+        if (result == GameState.CROSS_WON) {
+            crossScore = Math.max(0, crossScore - 1);
+            crossScoreLabel.setText("X: " + crossScore);
+        } else if (result == GameState.NOUGHT_WON) {
+            noughtScore = Math.max(0, noughtScore - 1);
+            noughtScoreLabel.setText("O: " + noughtScore);
+        }
+        soundEffect.stopAllSounds();
+        soundEffect.playBackgroundMusic();
+    }
+
+    private void resetScores() {
+        crossScore = 0;
+        noughtScore = 0;
+        crossScoreLabel.setText("X: 0");
+        noughtScoreLabel.setText("O: 0");
+    }
+
+    /** Show the turn, the AI progress or the result in the status bar */
+    private void updateStatusBar() {
+        GameState currentState = engine.getState();
+        if (currentState == GameState.PLAYING) {
+            statusBar.setForeground(Color.BLACK);
+            Seed currentPlayer = engine.getCurrentPlayer();
+            if (isAIMode && currentPlayer == Seed.NOUGHT) {
+                statusBar.setText("AI is thinking... " + aiPlayer.getProgress());
+            } else {
+                statusBar.setText((currentPlayer == Seed.CROSS) ? "X's Turn" : "O's Turn");
+            }
+        } else if (currentState == GameState.DRAW) {
+            statusBar.setForeground(Color.RED);
+            statusBar.setText("It's a Draw! Click 'New Game' to play again");
+        } else if (currentState == GameState.CROSS_WON) {
+            statusBar.setForeground(Color.RED);
+            statusBar.setText("'X' Won! Click 'New Game' to play again");
+        } else if (currentState == GameState.NOUGHT_WON) {
+            statusBar.setForeground(Color.RED);
+            String winner = isAIMode ? "AI" : "'O'";
+            statusBar.setText(winner + " Won! Click 'New Game' to play again");
+        }
+    }
+
+    /**
+     * Board view. The grid and the two symbols are rendered once into images
+     * compatible with the screen; a paint copies the part of the grid in the
+     * clip and draws the sprites of the cells it meets, so that a move repaints
+     * only its cell.
+     */
+    class GamePanel extends JPanel {
+        private static final long serialVersionUID = 1L;
+
+        private transient BufferedImage gridImage;
+        private transient BufferedImage crossSprite;
+        private transient BufferedImage noughtSprite;
+
+        GamePanel() {
+            setBackground(COLOR_BG);
+        }
+
+        /** Repaint the cell only */
+        void repaintCell(int row, int col) {
+            repaint(col * cellSize, row * cellSize, cellSize, cellSize);
+        }
+
+        @Override
+        public void paintComponent(Graphics g) {
+            super.paintComponent(g);
+            Graphics2D g2d = (Graphics2D) g;
+            if (gridImage == null) renderImages(g2d.getDeviceConfiguration());
+
+            // Copy the grid inside the clip
+            Rectangle clip = g.getClipBounds();
+            if (clip == null) clip = new Rectangle(0, 0, boardWidth, boardHeight);
+            int x2 = Math.min(clip.x + clip.width, boardWidth);
+            int y2 = Math.min(clip.y + clip.height, boardHeight);
+            if (x2 <= clip.x || y2 <= clip.y) return;  // outside the board
+            g.drawImage(gridImage, clip.x, clip.y, x2, y2, clip.x, clip.y, x2, y2, null);
+
+            // Draw the symbols of the cells inside the clip
+            int lastRow = Math.min(ROWS - 1, (y2 - 1) / cellSize);
+            int lastCol = Math.min(COLS - 1, (x2 - 1) / cellSize);
+            for (int row = Math.max(0, clip.y / cellSize); row <= lastRow; ++row) {
+                for (int col = Math.max(0, clip.x / cellSize); col <= lastCol; ++col) {
+                    Seed content = engine.contentOf(row, col);
+                    if (content != Seed.EMPTY) {
+                        g.drawImage((content == Seed.CROSS) ? crossSprite : noughtSprite,
+                                col * cellSize, row * cellSize, null);
+                    }
+                }
+            }
+        }
+
+        /** Render the grid and the symbols once */
+        private void renderImages(GraphicsConfiguration config) {
+            gridImage = config.createCompatibleImage(boardWidth, boardHeight, Transparency.OPAQUE);
+            Graphics2D g = gridImage.createGraphics();
+            g.setColor(COLOR_BG);
+            g.fillRect(0, 0, boardWidth, boardHeight);
+            g.setColor(COLOR_GRID);
+            for (int row = 1; row < ROWS; ++row) {
+                g.fillRoundRect(0, cellSize * row - GRID_WIDTH_HALF,
+                        boardWidth-1, GRID_WIDTH, GRID_WIDTH, GRID_WIDTH);
+            }
+            for (int col = 1; col < COLS; ++col) {
+                g.fillRoundRect(cellSize * col - GRID_WIDTH_HALF, 0,
+                        GRID_WIDTH, boardHeight-1, GRID_WIDTH, GRID_WIDTH);
+            }
+            g.dispose();
+
+            int far = cellSize - cellPadding;
+            crossSprite = config.createCompatibleImage(cellSize, cellSize, Transparency.BITMASK);
+            g = crossSprite.createGraphics();
+            g.setStroke(SYMBOL_STROKE);
+            g.setColor(COLOR_CROSS);
+            g.drawLine(cellPadding, cellPadding, far, far);
+            g.drawLine(far, cellPadding, cellPadding, far);
+            g.dispose();
+
+            noughtSprite = config.createCompatibleImage(cellSize, cellSize, Transparency.BITMASK);
+            g = noughtSprite.createGraphics();
+            g.setStroke(SYMBOL_STROKE);
+            g.setColor(COLOR_NOUGHT);
+            g.drawOval(cellPadding, cellPadding, symbolSize, symbolSize);
+            g.dispose();
+        }
+    }
+
+    /** The entry main() method. Optional arguments: rows cols winLength */
+    public static void main(String[] args) {
+        Rules rules = Rules.fromArgs(args);
+        SwingUtilities.invokeLater(() -> new TTTGraphics(rules));
+    }
+}
\ No newline at end of file
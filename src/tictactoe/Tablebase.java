@@ -0,0 +1,198 @@
+package tictactoe;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Endgame tablebase of a variant of up to 64 cells, as written by
+ * TablebaseGenerator: the exact result, with distance to the end, of every
+ * position with at most maxEmpty empty cells and CROSS having moved first.
+ * The file is memory-mapped, so a probe costs an index computation and one
+ * byte read, and the pages are shared by all the players and processes.
+ * <p>
+ * The index is a minimal perfect hash. Positions are grouped by their number
+ * of empty cells e, in increasing order; within a group, a position is ranked
+ * by its set of empty cells, then by the set of its crosses among the filled
+ * cells, each subset ranked in the combinatorial number system. A group
+ * holds C(cells, e) * C(filled, crosses) positions, one byte each:
+ * <pre>
+ *   bits 0-1  result for the side to move: INVALID, DRAW, WIN or LOSS
+ *   bits 2-7  plies to the end of the game with best play
+ * </pre>
+ */
+public class Tablebase implements Closeable {
+    /** "TTTBASE1" */
+    static final long MAGIC = 0x5454544241534531L;
+    /** Header: magic, rows, cols, winLength, maxEmpty, then reserved bytes */
+    static final int HEADER_BYTES = 32;
+
+    // Results, in the low 2 bits of an entry
+    /** Not a position of a game, e.g., the side to move has already won */
+    public static final int INVALID = 0;
+    public static final int DRAW = 1;
+    public static final int WIN = 2;
+    public static final int LOSS = 3;
+
+    /** binomial[n][k] = C(n, k) for n up to 64 */
+    static final long[][] BINOMIAL = new long[65][65];
+
+    static {
+        for (int n = 0; n <= 64; ++n) {
+            BINOMIAL[n][0] = 1;
+            for (int k = 1; k <= n; ++k) {
+                BINOMIAL[n][k] = BINOMIAL[n - 1][k - 1] + BINOMIAL[n - 1][k];
+            }
+        }
+    }
+
+    private final Rules rules;
+    private final int maxEmpty;
+    private final long[] levelOffsets;
+    private final FileChannel channel;
+    private final MappedByteBuffer entries;
+
+    /** Open and map the tablebase at path */
+    public Tablebase(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+                // until the header is full or the file ends
+            }
+            if (header.hasRemaining() || header.getLong(0) != MAGIC) {
+                throw new IOException(path + " is not a tablebase");
+            }
+            rules = new Rules(header.getInt(8), header.getInt(12), header.getInt(16));
+            maxEmpty = header.getInt(20);
+            levelOffsets = levelOffsets(rules, maxEmpty);
+            if (channel.size() != HEADER_BYTES + levelOffsets[maxEmpty + 1]) {
+                throw new IOException(path + " is truncated or corrupt");
+            }
+            entries = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES, levelOffsets[maxEmpty + 1]);
+        } catch (IOException | IllegalArgumentException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /** Return the tablebase of the given rules in the working directory, or null if there is none */
+    public static Tablebase openDefault(Rules rules) {
+        Path path = defaultPath(rules);
+        if (!Files.exists(path)) return null;
+        try {
+            return new Tablebase(path);
+        } catch (IOException | IllegalArgumentException e) {
+            System.out.println("Error opening tablebase: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /** Return the file of the tablebase of the given rules, e.g., tablebase-4x4-3.tttbase */
+    public static Path defaultPath(Rules rules) {
+        return Paths.get("tablebase-" + rules.rows + "x" + rules.cols + "-" + rules.winLength + ".tttbase");
+    }
+
+    public Rules getRules() {
+        return rules;
+    }
+
+    /** Return the largest number of empty cells of the positions in the tablebase */
+    public int getMaxEmpty() {
+        return maxEmpty;
+    }
+
+    /** Return the number of positions in the tablebase */
+    public long size() {
+        return levelOffsets[maxEmpty + 1];
+    }
+
+    /** Return the entry of the position on the board, of the same rules, or INVALID if it is not covered */
+    public int probe(Board board) {
+        if (rules.cellCount - board.moveCount > maxEmpty) return INVALID;
+        return probe(board.crossBits[0], board.noughtBits[0]);
+    }
+
+    /** Return the entry of the position, or INVALID if it is not covered */
+    public int probe(long crossBits, long noughtBits) {
+        long index = indexOf(rules, levelOffsets, maxEmpty, crossBits, noughtBits);
+        return (index < 0) ? INVALID : entries.get((int) index) & 0xFF;
+    }
+
+    /** Return the result of an entry: INVALID, DRAW, WIN or LOSS */
+    public static int resultOf(int entry) {
+        return entry & 3;
+    }
+
+    /** Return the plies to the end of the game of an entry */
+    public static int distanceOf(int entry) {
+        return entry >>> 2;
+    }
+
+    static int entryOf(int result, int distance) {
+        return distance << 2 | result;
+    }
+
+    /** Return the number of positions with e empty cells */
+    static long levelSize(Rules rules, int e) {
+        int filled = rules.cellCount - e;
+        return BINOMIAL[rules.cellCount][e] * BINOMIAL[filled][(filled + 1) / 2];
+    }
+
+    /** Return the offset of each level e in [0, maxEmpty], then the total size */
+    static long[] levelOffsets(Rules rules, int maxEmpty) {
+        long[] offsets = new long[maxEmpty + 2];
+        for (int e = 0; e <= maxEmpty; ++e) {
+            offsets[e + 1] = offsets[e] + levelSize(rules, e);
+        }
+        return offsets;
+    }
+
+    /** Return the index of the position, or -1 if it is not covered */
+    static long indexOf(Rules rules, long[] levelOffsets, int maxEmpty, long crossBits, long noughtBits) {
+        long filled = crossBits | noughtBits;
+        int filledCount = Long.bitCount(filled);
+        int e = rules.cellCount - filledCount;
+        if (e > maxEmpty || Long.bitCount(crossBits) != (filledCount + 1) / 2) return -1;
+        long all = (rules.cellCount == 64) ? -1L : (1L << rules.cellCount) - 1;
+        return levelOffsets[e] + indexInLevel(all & ~filled, crossBits, filled, filledCount);
+    }
+
+    /** Return the index of a position within its level */
+    static long indexInLevel(long empty, long crossBits, long filled, int filledCount) {
+        return rankOf(empty) * BINOMIAL[filledCount][(filledCount + 1) / 2] + rankWithin(crossBits, filled);
+    }
+
+    /** Return the rank of a set among the sets of its size, in the combinatorial number system */
+    static long rankOf(long set) {
+        long rank = 0;
+        int i = 1;
+        for (long rest = set; rest != 0; rest &= rest - 1, ++i) {
+            rank += BINOMIAL[Long.numberOfTrailingZeros(rest)][i];
+        }
+        return rank;
+    }
+
+    /** Return the rank of subset as a set of positions among the bits of within */
+    static long rankWithin(long subset, long within) {
+        long rank = 0;
+        int i = 1;
+        for (long rest = subset; rest != 0; rest &= rest - 1, ++i) {
+            rank += BINOMIAL[Long.bitCount(within & ((rest & -rest) - 1))][i];
+        }
+        return rank;
+    }
+
+    /** Unmaps when the buffer is garbage collected */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,188 @@
+package tictactoe;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Builds a Tablebase by retrograde analysis. Every move fills a cell, so the
+ * positions are solved level by level from the full boards up: those with 0
+ * empty cells, then 1, 2... up to maxEmpty. A position is valued from its
+ * children, one level down, which are already solved, so only two levels are
+ * held in memory; each level is written to the file once it is done.
+ * <p>
+ * main() arguments (all optional): rows cols winLength maxEmpty [file],
+ * by default the whole 4x4, 3 in a row game into tablebase-4x4-3.tttbase.
+ */
+public class TablebaseGenerator {
+    private final Rules rules;
+    private final int maxEmpty;
+    private final long allCells;
+    /** Counts of each result, by level: {INVALID, DRAW, WIN, LOSS} */
+    private final long[][] counts;
+
+    /** Constructor of a generator of the positions with at most maxEmpty empty cells */
+    public TablebaseGenerator(Rules rules, int maxEmpty) {
+        if (!rules.isCompact()) {
+            throw new IllegalArgumentException("Tablebases are limited to boards of 64 cells, not " + rules);
+        }
+        if (maxEmpty < 0 || maxEmpty > Math.min(rules.cellCount, 63)) {
+            throw new IllegalArgumentException("Invalid number of empty cells " + maxEmpty);
+        }
+        long size = Tablebase.levelOffsets(rules, maxEmpty)[maxEmpty + 1];
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(String.format("%,d positions with up to %d empty cells of %s"
+                    + " do not fit in one mapping, use fewer empty cells", size, maxEmpty, rules));
+        }
+        this.rules = rules;
+        this.maxEmpty = maxEmpty;
+        this.allCells = (rules.cellCount == 64) ? -1L : (1L << rules.cellCount) - 1;
+        this.counts = new long[maxEmpty + 1][4];
+    }
+
+    /** Solve all the levels and write the tablebase to path */
+    public void generate(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(Tablebase.HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putLong(Tablebase.MAGIC).putInt(rules.rows).putInt(rules.cols).putInt(rules.winLength)
+                    .putInt(maxEmpty);
+            header.clear();
+            while (header.hasRemaining()) channel.write(header);
+
+            byte[] previous = null;
+            for (int e = 0; e <= maxEmpty; ++e) {
+                byte[] level = solveLevel(e, previous);
+                ByteBuffer buffer = ByteBuffer.wrap(level);
+                while (buffer.hasRemaining()) channel.write(buffer);
+                previous = level;
+            }
+        }
+    }
+
+    /** Return the entries of the positions with e empty cells, given those with e - 1 */
+    private byte[] solveLevel(int e, byte[] previous) {
+        int filledCount = rules.cellCount - e;
+        int crossCount = (filledCount + 1) / 2;
+        boolean crossToMove = (filledCount % 2 == 0);
+        long emptySets = Tablebase.BINOMIAL[rules.cellCount][e];
+        long crossSets = Tablebase.BINOMIAL[filledCount][crossCount];
+        byte[] level = new byte[(int) (emptySets * crossSets)];
+        long[] levelCounts = counts[e];
+        int[] filledCells = new int[filledCount];
+
+        // Both kinds of sets are enumerated in increasing order, i.e., in the order of their ranks
+        long empty = (1L << e) - 1;
+        int index = 0;
+        for (long emptyRank = 0; emptyRank < emptySets; ++emptyRank) {
+            long filled = allCells & ~empty;
+            int n = 0;
+            for (long rest = filled; rest != 0; rest &= rest - 1) {
+                filledCells[n++] = Long.numberOfTrailingZeros(rest);
+            }
+            long crossSet = (1L << crossCount) - 1;  // among the filled cells
+            for (long crossRank = 0; crossRank < crossSets; ++crossRank) {
+                long crossBits = 0;
+                for (long rest = crossSet; rest != 0; rest &= rest - 1) {
+                    crossBits |= 1L << filledCells[Long.numberOfTrailingZeros(rest)];
+                }
+                int entry = solve(crossBits, filled & ~crossBits, empty, filledCount, crossToMove, previous);
+                level[index++] = (byte) entry;
+                levelCounts[Tablebase.resultOf(entry)]++;
+                if (crossRank + 1 < crossSets) crossSet = nextSet(crossSet);
+            }
+            if (emptyRank + 1 < emptySets) empty = nextSet(empty);
+        }
+        return level;
+    }
+
+    /** Return the entry of a position from the entries of its children in previous */
+    private int solve(long crossBits, long noughtBits, long empty, int filledCount, boolean crossToMove,
+                      byte[] previous) {
+        long moverBits = crossToMove ? crossBits : noughtBits;
+        long lastMoverBits = crossToMove ? noughtBits : crossBits;
+        if (hasLine(moverBits)) {
+            return Tablebase.INVALID;  // the game ended before this position
+        }
+        if (hasLine(lastMoverBits)) {
+            return Tablebase.entryOf(Tablebase.LOSS, 0);
+        }
+        if (empty == 0) {
+            return Tablebase.entryOf(Tablebase.DRAW, 0);
+        }
+
+        long filled = crossBits | noughtBits;
+        int fastestWin = Integer.MAX_VALUE;
+        int slowestLoss = -1;
+        boolean draw = false;
+        for (long rest = empty; rest != 0; rest &= rest - 1) {
+            long bit = rest & -rest;
+            long childCross = crossToMove ? crossBits | bit : crossBits;
+            int child = previous[(int) Tablebase.indexInLevel(empty & ~bit, childCross, filled | bit,
+                    filledCount + 1)];
+            int distance = Tablebase.distanceOf(child & 0xFF) + 1;
+            switch (Tablebase.resultOf(child)) {
+                case Tablebase.LOSS: fastestWin = Math.min(fastestWin, distance); break;  // for the opponent
+                case Tablebase.DRAW: draw = true; break;
+                default: slowestLoss = Math.max(slowestLoss, distance); break;
+            }
+        }
+        if (fastestWin != Integer.MAX_VALUE) {
+            return Tablebase.entryOf(Tablebase.WIN, fastestWin);
+        }
+        return draw ? Tablebase.entryOf(Tablebase.DRAW, Long.bitCount(empty))
+                : Tablebase.entryOf(Tablebase.LOSS, slowestLoss);
+    }
+
+    /** Return true if the bitboard covers a winning line */
+    private boolean hasLine(long bits) {
+        for (long mask : rules.lineMasks) {
+            if ((bits & mask) == mask) return true;
+        }
+        return false;
+    }
+
+    /** Return the next larger set of the same size (Gosper's hack) */
+    private static long nextSet(long set) {
+        long lowest = set & -set;
+        long ripple = set + lowest;
+        return ripple | (((set ^ ripple) >>> 2) / lowest);
+    }
+
+    /** Return the counts of each result at e empty cells: {INVALID, DRAW, WIN, LOSS} */
+    public long[] countsOf(int e) {
+        return counts[e];
+    }
+
+    /** Generate a tablebase and print the results by level */
+    public static void main(String[] args) throws IOException {
+        Rules rules = (args.length >= 3) ? Rules.fromArgs(args) : new Rules(4, 4, 3);
+        int maxEmpty = (args.length >= 4) ? Integer.parseInt(args[3]) : rules.cellCount;
+        Path path = (args.length >= 5) ? Paths.get(args[4]) : Tablebase.defaultPath(rules);
+        TablebaseGenerator generator = new TablebaseGenerator(rules, maxEmpty);
+        long start = System.nanoTime();
+        generator.generate(path);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%s, up to %d empty cells: %,d positions in %.1f s, written to %s%n",
+                rules, maxEmpty, Tablebase.levelOffsets(rules, maxEmpty)[maxEmpty + 1], seconds, path);
+        System.out.println("empty: side to move wins, loses, draws (invalid)");
+        for (int e = 0; e <= maxEmpty; ++e) {
+            long[] c = generator.countsOf(e);
+            System.out.printf("%5d: %,d, %,d, %,d (%,d)%n", e, c[Tablebase.WIN], c[Tablebase.LOSS],
+                    c[Tablebase.DRAW], c[Tablebase.INVALID]);
+        }
+        if (maxEmpty == rules.cellCount) {
+            try (Tablebase tablebase = new Tablebase(path)) {
+                int entry = tablebase.probe(0L, 0L);
+                String[] results = {"invalid", "a draw", "a win for X", "a loss for X"};
+                System.out.printf("The empty board is %s in %d plies%n",
+                        results[Tablebase.resultOf(entry)], Tablebase.distanceOf(entry));
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package tictactoe;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Transposition table for the game-tree search, keyed by the Zobrist hash of
+ * a position. Each entry packs the score, search depth, bound type, best move
+ * and search generation into one long; the key is stored XOR-ed with that word
+ * so that a torn read shows up as a miss.
+ * <p>
+ * The table is split into buckets of two entries: the first keeps the deepest
+ * result (or is taken over once it is from an older search), the second is
+ * always replaced.
+ * <p>
+ * Searchers on several threads may share one table without locking: a torn or
+ * stale entry fails the key check and is treated as a miss.
+ */
+public class TranspositionTable {
+    // Bound types stored with each score
+    public static final int EXACT = 0;  // score is the exact minimax value
+    public static final int LOWER = 1;  // search failed high, value >= score
+    public static final int UPPER = 2;  // search failed low, value <= score
+
+    /** Value returned by probe() when the position is not in the table */
+    public static final long NOT_FOUND = 0L;
+
+    /** Flag set in every stored entry */
+    private static final long VALID = 1L << 63;
+    /** Bytes taken by one entry (key + data) */
+    private static final int ENTRY_BYTES = 16;
+
+    private final long[] keys;  // hash ^ data of each entry
+    private final long[] data;  // packed entry, see pack()
+    private final int bucketMask;
+    private int generation;
+
+    // Statistics
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /** Constructor with the memory cap in bytes (rounded down to a power of two entries) */
+    public TranspositionTable(long maxBytes) {
+        int buckets = Integer.highestOneBit((int) Math.max(1, Math.min(maxBytes / (2 * ENTRY_BYTES), 1 << 28)));
+        keys = new long[buckets * 2];
+        data = new long[buckets * 2];
+        bucketMask = buckets - 1;
+    }
+
+    /** Start a new search: older entries become preferred for replacement */
+    public void newSearch() {
+        generation = (generation + 1) & 0x1F;
+    }
+
+    /** Remove all entries and reset the statistics */
+    public void clear() {
+        java.util.Arrays.fill(keys, 0L);
+        java.util.Arrays.fill(data, 0L);
+        hits.reset();
+        misses.reset();
+    }
+
+    /** Return the packed entry for the position with the given hash, or NOT_FOUND */
+    public long probe(long hash) {
+        int slot = ((int) hash & bucketMask) << 1;
+        for (int i = slot; i < slot + 2; ++i) {
+            long entry = data[i];
+            if (entry != NOT_FOUND && (keys[i] ^ entry) == hash) {
+                hits.increment();
+                return entry;
+            }
+        }
+        misses.increment();
+        return NOT_FOUND;
+    }
+
+    /** Store the search result of the position with the given hash.
+     bestMove is a cell index, or -1 if there is none */
+    public void store(long hash, int score, int depth, int bound, int bestMove) {
+        int slot = ((int) hash & bucketMask) << 1;
+        long entry = pack(score, depth, bound, bestMove, generation);
+        long old = data[slot];
+        if (old == NOT_FOUND || (keys[slot] ^ old) == hash
+                || depth >= depthOf(old) || generationOf(old) != generation) {
+            keys[slot] = hash ^ entry;  // depth-preferred slot
+            data[slot] = entry;
+        } else {
+            keys[slot + 1] = hash ^ entry;  // always-replace slot
+            data[slot + 1] = entry;
+        }
+    }
+
+    /** Pack an entry: score in bits 0-31, depth 32-39, bound 40-41, best move + 1
+     in 42-57, generation in 58-62 and bit 63 set, so it never equals NOT_FOUND */
+    static long pack(int score, int depth, int bound, int bestMove, int generation) {
+        return (score & 0xFFFFFFFFL)
+                | (long) (depth & 0xFF) << 32
+                | (long) bound << 40
+                | (long) ((bestMove + 1) & 0xFFFF) << 42
+                | (long) generation << 58
+                | VALID;
+    }
+
+    public static int scoreOf(long entry) {
+        return (int) entry;
+    }
+
+    public static int depthOf(long entry) {
+        return (int) (entry >>> 32) & 0xFF;
+    }
+
+    public static int boundOf(long entry) {
+        return (int) (entry >>> 40) & 0x3;
+    }
+
+    /** Return the best move (cell index) of the entry, or -1 if none */
+    public static int bestMoveOf(long entry) {
+        return ((int) (entry >>> 42) & 0xFFFF) - 1;
+    }
+
+    private static int generationOf(long entry) {
+        return (int) (entry >>> 58) & 0x1F;
+    }
+
+    /** Number of entries the table can hold */
+    public int capacity() {
+        return data.length;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /** Return the fraction of probes that found their position */
+    public double hitRate() {
+        long found = getHits();
+        long probes = found + getMisses();
+        return (probes == 0) ? 0.0 : (double) found / probes;
+    }
+}
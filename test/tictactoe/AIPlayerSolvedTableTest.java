@@ -0,0 +1,96 @@
+package tictactoe;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The solved table must play perfectly: in every position reachable with
+ * CROSS moving first, its move keeps the game-theoretic value of the
+ * position, as found by a full minimax.
+ */
+class AIPlayerSolvedTableTest {
+    private final Board board = new Board();
+    private final AIPlayerSolvedTable player = new AIPlayerSolvedTable(board);
+    /** Minimax value for the side to move (1 win, 0 draw, -1 loss), keyed by cross bits << 9 | nought bits */
+    private final Map<Integer, Integer> values = new HashMap<>();
+    /** Positions already checked, keyed in the same way */
+    private final Set<Integer> visited = new HashSet<>();
+    private int checked;
+
+    @Test
+    void playsPerfectlyInEveryReachablePosition() {
+        checkFrom(Seed.CROSS);
+        assertEquals(4520, checked);  // the 5,478 positions of the game, less the 958 final ones
+    }
+
+    @Test
+    void reusesItsResultArray() {
+        player.setSeed(Seed.CROSS);
+        int[] first = player.move();
+        board.setCell(first[0], first[1], Seed.CROSS);
+        board.setCell(first[0] == 0 ? 1 : 0, 0, Seed.NOUGHT);
+        assertSame(first, player.move());
+    }
+
+    @Test
+    void rejectsOtherRules() {
+        assertThrows(IllegalArgumentException.class, () -> new AIPlayerSolvedTable(new Board(new Rules(4, 4, 3))));
+    }
+
+    /** Check the player's move in the position on the board, then in every position after it */
+    private void checkFrom(Seed toMove) {
+        Seed other = (toMove == Seed.CROSS) ? Seed.NOUGHT : Seed.CROSS;
+        if (board.hasWon(other) || board.moveCount == 9) return;  // game over
+        if (!visited.add((int) board.crossBits[0] << 9 | (int) board.noughtBits[0])) return;
+        player.setSeed(toMove);
+        int[] move = player.move();
+        int cell = move[0] * 3 + move[1];
+        assertEquals(Seed.EMPTY, board.cells[move[0]][move[1]].content, "move to an occupied cell");
+        board.setCell(cell, toMove);
+        int played = -value(other);
+        board.setCell(cell, Seed.EMPTY);
+        assertEquals(value(toMove), played, () -> "suboptimal move " + cell + " in " + describe());
+        checked++;
+        for (int c = 0; c < 9; ++c) {
+            if (board.cells[c / 3][c % 3].content != Seed.EMPTY) continue;
+            board.setCell(c, toMove);
+            checkFrom(other);
+            board.setCell(c, Seed.EMPTY);
+        }
+    }
+
+    /** Return the minimax value of the position on the board for the side to move */
+    private int value(Seed toMove) {
+        Seed other = (toMove == Seed.CROSS) ? Seed.NOUGHT : Seed.CROSS;
+        if (board.hasWon(other)) return -1;
+        if (board.moveCount == 9) return 0;
+        int key = (int) board.crossBits[0] << 9 | (int) board.noughtBits[0];
+        Integer known = values.get(key);
+        if (known != null) return known;
+        int best = -1;
+        for (int c = 0; c < 9 && best < 1; ++c) {
+            if (board.cells[c / 3][c % 3].content != Seed.EMPTY) continue;
+            board.setCell(c, toMove);
+            best = Math.max(best, -value(other));
+            board.setCell(c, Seed.EMPTY);
+        }
+        values.put(key, best);
+        return best;
+    }
+
+    private String describe() {
+        StringBuilder cells = new StringBuilder();
+        for (int c = 0; c < 9; ++c) {
+            Seed content = board.cells[c / 3][c % 3].content;
+            cells.append(content == Seed.CROSS ? 'X' : content == Seed.NOUGHT ? 'O' : '.');
+        }
+        return cells.toString();
+    }
+}
@@ -0,0 +1,178 @@
+package tictactoe;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The incremental state of Board (bitboards, move count, Zobrist hashes of
+ * every symmetry, per-line counts and lineScore) must always equal the state
+ * recomputed from the cells, whatever sequence of makeMove(), unmakeMove(),
+ * redoMove(), setCell() and copyFrom() led to the position.
+ */
+class BoardTest {
+    /** Compact and multi-word boards, square and not */
+    private static final Rules[] RULES = {
+            new Rules(3, 3, 3), new Rules(4, 4, 3), new Rules(5, 5, 4), new Rules(4, 6, 4), new Rules(9, 9, 5)};
+
+    @Test
+    void makeUnmakeRedoKeepTheIncrementalState() {
+        Random random = new Random(1);
+        for (Rules rules : RULES) {
+            for (int game = 0; game < 50; ++game) {
+                Board board = new Board(rules);
+                // snapshots.get(k): copy of the board with k moves on the stack, while they can be redone
+                List<Board> snapshots = new ArrayList<>();
+                snapshots.add(new Board(board));
+                for (int step = 0; step < 3 * rules.cellCount; ++step) {
+                    int action = random.nextInt(4);
+                    if (action == 0 && board.canUndo()) {
+                        board.unmakeMove();
+                        assertSameState(snapshots.get(board.stackSize()), board);
+                    } else if (action == 1 && board.canRedo()) {
+                        board.redoMove();
+                        assertSameState(snapshots.get(board.stackSize()), board);
+                    } else if (board.moveCount < rules.cellCount) {
+                        Seed player = (board.stackSize() % 2 == 0) ? Seed.CROSS : Seed.NOUGHT;
+                        board.makeMove(randomEmptyCell(board, random), player);
+                        assertFalse(board.canRedo());
+                        while (snapshots.size() > board.stackSize()) snapshots.remove(snapshots.size() - 1);
+                        snapshots.add(new Board(board));
+                    }
+                    assertConsistent(board);
+                }
+                while (board.canUndo()) board.unmakeMove();
+                assertSameState(new Board(rules), board);
+            }
+        }
+    }
+
+    @Test
+    void copyFromCopiesTheStateAndTheMoveStack() {
+        Random random = new Random(2);
+        for (Rules rules : RULES) {
+            Board board = new Board(rules);
+            for (int m = 0; m < rules.cellCount / 2; ++m) {
+                board.makeMove(randomEmptyCell(board, random), (m % 2 == 0) ? Seed.CROSS : Seed.NOUGHT);
+            }
+            board.unmakeMove();  // one move left to redo
+            Board before = new Board(board);
+
+            Board copy = new Board(rules);
+            copy.makeMove(0, Seed.NOUGHT);  // overwritten by the copy
+            copy.copyFrom(board);
+            assertSameState(board, copy);
+            assertConsistent(copy);
+            copy.redoMove();
+            board.redoMove();
+            assertSameState(board, copy);
+            while (copy.canUndo()) copy.unmakeMove();
+            assertSameState(new Board(rules), copy);
+            board.unmakeMove();
+            assertSameState(before, board);  // untouched by the copy's moves
+        }
+    }
+
+    @Test
+    void setCellKeepsTheIncrementalState() {
+        Random random = new Random(3);
+        Seed[] seeds = {Seed.EMPTY, Seed.CROSS, Seed.NOUGHT};
+        for (Rules rules : RULES) {
+            Board board = new Board(rules);
+            for (int step = 0; step < 4 * rules.cellCount; ++step) {
+                board.setCell(random.nextInt(rules.cellCount), seeds[random.nextInt(3)]);
+                assertConsistent(board);
+            }
+        }
+    }
+
+    @Test
+    void makeMoveRejectsEmptyAndOccupiedCells() {
+        Board board = new Board(new Rules(4, 4, 3));
+        board.makeMove(5, Seed.CROSS);
+        Board before = new Board(board);
+        assertThrows(IllegalArgumentException.class, () -> board.makeMove(6, Seed.EMPTY));
+        assertThrows(IllegalArgumentException.class, () -> board.makeMove(6, null));
+        assertThrows(IllegalArgumentException.class, () -> board.makeMove(5, Seed.NOUGHT));
+        assertSameState(before, board);
+        board.unmakeMove();
+        assertThrows(IllegalStateException.class, board::unmakeMove);
+        board.redoMove();
+        assertThrows(IllegalStateException.class, board::redoMove);
+    }
+
+    private static int randomEmptyCell(Board board, Random random) {
+        int cell;
+        do {
+            cell = random.nextInt(board.rules.cellCount);
+        } while (board.cells[cell / board.cols][cell % board.cols].content != Seed.EMPTY);
+        return cell;
+    }
+
+    /** Check the incremental state of the board against the one recomputed from its cells */
+    private static void assertConsistent(Board board) {
+        Rules rules = board.rules;
+        long[] crossBits = new long[board.crossBits.length];
+        long[] noughtBits = new long[board.noughtBits.length];
+        long hash = 0;
+        long[] symHashes = new long[rules.symmetry.count];
+        int moveCount = 0;
+        for (int cell = 0; cell < rules.cellCount; ++cell) {
+            Seed content = board.cells[cell / rules.cols][cell % rules.cols].content;
+            if (content == Seed.EMPTY) continue;
+            long[] keys = (content == Seed.CROSS) ? rules.crossKeys : rules.noughtKeys;
+            long[] bits = (content == Seed.CROSS) ? crossBits : noughtBits;
+            bits[cell >>> 6] |= 1L << cell;
+            hash ^= keys[cell];
+            for (int t = 0; t < symHashes.length; ++t) symHashes[t] ^= keys[rules.symmetry.cells[t][cell]];
+            moveCount++;
+        }
+        int[] crossCounts = new int[rules.lines.length];
+        int[] noughtCounts = new int[rules.lines.length];
+        int lineScore = 0;
+        for (int line = 0; line < rules.lines.length; ++line) {
+            for (int cell : rules.lines[line]) {
+                Seed content = board.cells[cell / rules.cols][cell % rules.cols].content;
+                if (content == Seed.CROSS) crossCounts[line]++;
+                else if (content == Seed.NOUGHT) noughtCounts[line]++;
+            }
+            lineScore += rules.lineValues[crossCounts[line]][noughtCounts[line]];
+        }
+        assertArrayEquals(crossBits, board.crossBits, "crossBits");
+        assertArrayEquals(noughtBits, board.noughtBits, "noughtBits");
+        assertEquals(moveCount, board.moveCount, "moveCount");
+        assertEquals(hash, board.hash, "hash");
+        assertArrayEquals(symHashes, board.symHashes, "symHashes");
+        assertArrayEquals(crossCounts, board.crossCounts, "crossCounts");
+        assertArrayEquals(noughtCounts, board.noughtCounts, "noughtCounts");
+        assertEquals(lineScore, board.lineScore, "lineScore");
+    }
+
+    /** Check that two boards hold the same position and the same move stack */
+    private static void assertSameState(Board expected, Board actual) {
+        assertArrayEquals(expected.crossBits, actual.crossBits, "crossBits");
+        assertArrayEquals(expected.noughtBits, actual.noughtBits, "noughtBits");
+        assertEquals(expected.moveCount, actual.moveCount, "moveCount");
+        assertEquals(expected.hash, actual.hash, "hash");
+        assertArrayEquals(expected.symHashes, actual.symHashes, "symHashes");
+        assertArrayEquals(expected.crossCounts, actual.crossCounts, "crossCounts");
+        assertArrayEquals(expected.noughtCounts, actual.noughtCounts, "noughtCounts");
+        assertEquals(expected.lineScore, actual.lineScore, "lineScore");
+        assertEquals(expected.stackSize(), actual.stackSize(), "stackSize");
+        for (int i = 0; i < expected.stackSize(); ++i) {
+            assertEquals(expected.moveStack[i], actual.moveStack[i], "move " + i);
+        }
+        for (int row = 0; row < expected.rows; ++row) {
+            for (int col = 0; col < expected.cols; ++col) {
+                assertEquals(expected.cells[row][col].content, actual.cells[row][col].content,
+                        "cell " + row + " " + col);
+            }
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package tictactoe;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Generated tablebases must agree with a brute-force solve of the same
+ * positions, result and distance, and their index must be a perfect hash.
+ */
+class TablebaseTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void wholeStandardGameMatchesBruteForce() throws IOException {
+        Rules rules = new Rules(3, 3, 3);
+        try (Tablebase tablebase = generate(rules, 9)) {
+            assertEquals(Tablebase.entryOf(Tablebase.DRAW, 9), tablebase.probe(0L, 0L));
+            // Every position of every level, the invalid ones included
+            for (long cross = 0; cross < 1 << 9; ++cross) {
+                for (long nought = 0; nought < 1 << 9; ++nought) {
+                    if ((cross & nought) != 0) continue;
+                    int crosses = Long.bitCount(cross), noughts = Long.bitCount(nought);
+                    if (crosses != noughts && crosses != noughts + 1) continue;
+                    assertEquals(expected(rules, cross, nought), tablebase.probe(cross, nought),
+                            "cross " + cross + " nought " + nought);
+                }
+            }
+        }
+    }
+
+    @Test
+    void largerVariantsMatchBruteForce() throws IOException {
+        checkRandomPositions(new Rules(4, 4, 3), 9, 400);
+        checkRandomPositions(new Rules(4, 4, 4), 8, 400);
+        checkRandomPositions(new Rules(3, 5, 3), 9, 400);
+    }
+
+    @Test
+    void indexIsAPerfectHashOfEachLevel() {
+        Rules rules = new Rules(4, 4, 3);
+        int maxEmpty = 6;
+        long[] offsets = Tablebase.levelOffsets(rules, maxEmpty);
+        boolean[] seen = new boolean[(int) offsets[maxEmpty + 1]];
+        for (long filled = 0; filled < 1 << 16; ++filled) {
+            int filledCount = Long.bitCount(filled);
+            if (16 - filledCount > maxEmpty) continue;
+            // Every way to pick the crosses among the filled cells
+            int crossCount = (filledCount + 1) / 2;
+            for (long cross = filled; ; cross = (cross - 1) & filled) {
+                if (Long.bitCount(cross) == crossCount) {
+                    long index = Tablebase.indexOf(rules, offsets, maxEmpty, cross, filled & ~cross);
+                    int e = 16 - filledCount;
+                    assertTrue(index >= offsets[e] && index < offsets[e + 1], "index out of its level");
+                    assertFalse(seen[(int) index], "index used twice");
+                    seen[(int) index] = true;
+                }
+                if (cross == 0) break;
+            }
+        }
+        for (boolean used : seen) assertTrue(used, "index never used");
+        assertEquals(-1, Tablebase.indexOf(rules, offsets, maxEmpty, 1L, 0L));  // too many empty cells
+    }
+
+    @Test
+    void rejectsFilesThatAreNotTablebases() throws IOException {
+        Path path = dir.resolve("not.tttbase");
+        Files.write(path, new byte[64]);
+        assertThrows(IOException.class, () -> new Tablebase(path));
+        Path truncated = dir.resolve("truncated.tttbase");
+        new TablebaseGenerator(new Rules(3, 3, 3), 4).generate(truncated);
+        byte[] bytes = Files.readAllBytes(truncated);
+        Files.write(truncated, java.util.Arrays.copyOf(bytes, bytes.length - 1));
+        assertThrows(IOException.class, () -> new Tablebase(truncated));
+    }
+
+    @Test
+    void tablebaseScoresAreOutsideTheHeuristicRange() {
+        for (Rules rules : new Rules[] {new Rules(3, 3, 3), new Rules(4, 4, 3), new Rules(8, 8, 4), new Rules(8, 8, 5)}) {
+            MinimaxSearch.Shared shared = new MinimaxSearch.Shared(rules, new TranspositionTable(1 << 10));
+            long maxHeuristic = (long) rules.lines.length * rules.lineValues[rules.winLength][0];
+            assertTrue(shared.tablebaseWin - rules.cellCount > maxHeuristic, rules.toString());
+        }
+    }
+
+    @Test
+    void searchWithTheTablebasePlaysAnImmediateWin() throws IOException {
+        Rules rules = new Rules(4, 4, 3);
+        Random random = new Random(5);
+        try (Tablebase tablebase = generate(rules, 8)) {
+            int tested = 0;
+            while (tested < 300) {
+                // CROSS to move after random moves that win nothing, with a winning cell to take
+                Board board = new Board(rules);
+                int moves = 2 * (2 + random.nextInt(4));
+                for (int m = 0; m < moves && !board.hasWon(Seed.CROSS) && !board.hasWon(Seed.NOUGHT); ++m) {
+                    int cell;
+                    do {
+                        cell = random.nextInt(rules.cellCount);
+                    } while (board.cells[cell / rules.cols][cell % rules.cols].content != Seed.EMPTY);
+                    board.makeMove(cell, (m % 2 == 0) ? Seed.CROSS : Seed.NOUGHT);
+                }
+                if (board.moveCount != moves || board.hasWon(Seed.CROSS) || board.hasWon(Seed.NOUGHT)
+                        || !hasWinningMove(board, Seed.CROSS)) continue;
+                AIPlayerMinimax player = new AIPlayerMinimax(board);
+                player.setSolvedCache(null);
+                player.setTablebase(tablebase);
+                player.setSeed(Seed.CROSS);
+                player.setSearchDepth(4);
+                String position = "cross " + board.crossBits[0] + " nought " + board.noughtBits[0];
+                int[] move = player.move();
+                board.makeMove(move[0] * rules.cols + move[1], Seed.CROSS);
+                assertTrue(board.hasWon(Seed.CROSS), "winning move skipped in " + position);
+                tested++;
+            }
+        }
+    }
+
+    @Test
+    void tablebasesOfOtherSizesDoNotShareSolvedResults() throws IOException {
+        Rules rules = new Rules(4, 4, 3);
+        try (Tablebase small = generate(rules, 4); Tablebase large = generateTo(dir.resolve("large.tttbase"), rules, 8)) {
+            Board board = new Board(rules);
+            board.makeMove(5, Seed.CROSS);
+            board.makeMove(0, Seed.NOUGHT);
+            long alone = searchNodes(board, small, new SolvedCache(1 << 16));
+            SolvedCache shared = new SolvedCache(1 << 16);
+            searchNodes(board, large, shared);
+            assertEquals(alone, searchNodes(board, small, shared), "results of the larger tablebase reused");
+        }
+    }
+
+    /** Search the position to depth 6 with a fresh player, return the nodes visited */
+    private static long searchNodes(Board board, Tablebase tablebase, SolvedCache solved) {
+        AIPlayerMinimax player = new AIPlayerMinimax(board, 1 << 20, solved);
+        player.setTablebase(tablebase);
+        player.setSeed(Seed.CROSS);
+        player.setSearchDepth(6);
+        player.move();
+        return player.getNodeCount();
+    }
+
+    private static boolean hasWinningMove(Board board, Seed seed) {
+        for (int cell = 0; cell < board.rules.cellCount; ++cell) {
+            if (board.cells[cell / board.cols][cell % board.cols].content != Seed.EMPTY) continue;
+            board.makeMove(cell, seed);
+            boolean won = board.hasWon(seed);
+            board.unmakeMove();
+            if (won) return true;
+        }
+        return false;
+    }
+
+    private Tablebase generate(Rules rules, int maxEmpty) throws IOException {
+        return generateTo(dir.resolve("tablebase-" + rules.rows + "x" + rules.cols + "-" + rules.winLength + ".tttbase"),
+                rules, maxEmpty);
+    }
+
+    private static Tablebase generateTo(Path path, Rules rules, int maxEmpty) throws IOException {
+        new TablebaseGenerator(rules, maxEmpty).generate(path);
+        return new Tablebase(path);
+    }
+
+    /** Compare the tablebase with the brute-force solve of random positions of up to maxEmpty empty cells */
+    private void checkRandomPositions(Rules rules, int maxEmpty, int count) throws IOException {
+        Random random = new Random(rules.cellCount * 31L + rules.winLength);
+        try (Tablebase tablebase = generate(rules, maxEmpty)) {
+            for (int i = 0; i < count; ++i) {
+                int filledCount = rules.cellCount - random.nextInt(maxEmpty + 1);
+                long cross = 0, nought = 0;
+                for (int m = 0; m < filledCount; ++m) {
+                    int cell;
+                    do {
+                        cell = random.nextInt(rules.cellCount);
+                    } while (((cross | nought) >>> cell & 1) != 0);
+                    if (m % 2 == 0) cross |= 1L << cell;
+                    else nought |= 1L << cell;
+                }
+                assertEquals(expected(rules, cross, nought), tablebase.probe(cross, nought),
+                        rules + ", cross " + cross + " nought " + nought);
+            }
+            assertEquals(Tablebase.INVALID, tablebase.probe(0L, 0L));  // beyond maxEmpty
+        }
+    }
+
+    /** Return the entry the tablebase should hold for the position, CROSS having moved first */
+    private static int expected(Rules rules, long cross, long nought) {
+        boolean crossToMove = Long.bitCount(cross) == Long.bitCount(nought);
+        if (hasLine(rules, crossToMove ? cross : nought)) return Tablebase.INVALID;
+        return solve(rules, cross, nought, crossToMove);
+    }
+
+    /** Negamax over every line of play: the result for the side to move and the plies to the end,
+     the fastest win, the slowest loss, and a draw lasting until the board is full */
+    private static int solve(Rules rules, long cross, long nought, boolean crossToMove) {
+        if (hasLine(rules, crossToMove ? nought : cross)) return Tablebase.entryOf(Tablebase.LOSS, 0);
+        long empty = ((1L << rules.cellCount) - 1) & ~(cross | nought);
+        if (empty == 0) return Tablebase.entryOf(Tablebase.DRAW, 0);
+        int fastestWin = Integer.MAX_VALUE, slowestLoss = -1;
+        boolean draw = false;
+        for (long rest = empty; rest != 0; rest &= rest - 1) {
+            long bit = rest & -rest;
+            int child = crossToMove ? solve(rules, cross | bit, nought, false) : solve(rules, cross, nought | bit, true);
+            int distance = Tablebase.distanceOf(child) + 1;
+            switch (Tablebase.resultOf(child)) {
+                case Tablebase.LOSS: fastestWin = Math.min(fastestWin, distance); break;
+                case Tablebase.DRAW: draw = true; break;
+                default: slowestLoss = Math.max(slowestLoss, distance); break;
+            }
+        }
+        if (fastestWin != Integer.MAX_VALUE) return Tablebase.entryOf(Tablebase.WIN, fastestWin);
+        return draw ? Tablebase.entryOf(Tablebase.DRAW, Long.bitCount(empty)) : Tablebase.entryOf(Tablebase.LOSS, slowestLoss);
+    }
+
+    private static boolean hasLine(Rules rules, long bits) {
+        for (long mask : rules.lineMasks) {
+            if ((bits & mask) == mask) return true;
+        }
+        return false;
+    }
+}